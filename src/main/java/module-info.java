@@ -3,11 +3,13 @@ module org.xmlobjects {
     requires transitive java.xml;
     requires transitive com.sun.xml.xsom;
     requires transitive org.xmlobjects.classindex;
+    requires static java.compiler;
 
     exports org.xmlobjects;
     exports org.xmlobjects.annotation;
     exports org.xmlobjects.builder;
     exports org.xmlobjects.model;
+    exports org.xmlobjects.registry;
     exports org.xmlobjects.schema;
     exports org.xmlobjects.serializer;
     exports org.xmlobjects.stream;
@@ -15,4 +17,8 @@ module org.xmlobjects {
     exports org.xmlobjects.util.composite;
     exports org.xmlobjects.util.xml;
     exports org.xmlobjects.xml;
-}
\ No newline at end of file
+
+    uses org.xmlobjects.registry.ObjectRegistry;
+
+    provides javax.annotation.processing.Processor with org.xmlobjects.registry.RegistryProcessor;
+}
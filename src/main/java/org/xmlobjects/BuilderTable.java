@@ -0,0 +1,94 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright Claus Nagel <claus.nagel@gmail.com>
+ */
+
+package org.xmlobjects;
+
+import org.xmlobjects.builder.ObjectBuilder;
+
+import java.util.Map;
+
+final class BuilderTable {
+    private final String[] namespaceURIs;
+    private final String[] localNames;
+    private final XMLObjects.BuilderInfo[] infos;
+    private final int mask;
+
+    // per requested type: 0 = unknown, 1 = assignable, 2 = not assignable
+    private final ClassValue<byte[]> assignable = new ClassValue<>() {
+        @Override
+        protected byte[] computeValue(Class<?> type) {
+            return new byte[infos.length];
+        }
+    };
+
+    BuilderTable(Map<String, Map<String, XMLObjects.BuilderInfo>> builders) {
+        int size = builders.values().stream().mapToInt(Map::size).sum();
+        int capacity = Integer.highestOneBit(Math.max(size * 2 - 1, 1)) << 1;
+
+        namespaceURIs = new String[capacity];
+        localNames = new String[capacity];
+        infos = new XMLObjects.BuilderInfo[capacity];
+        mask = capacity - 1;
+
+        for (Map.Entry<String, Map<String, XMLObjects.BuilderInfo>> entry : builders.entrySet()) {
+            String namespaceURI = entry.getKey();
+            for (Map.Entry<String, XMLObjects.BuilderInfo> info : entry.getValue().entrySet()) {
+                String localName = info.getKey();
+                int index = hash(namespaceURI, localName) & mask;
+                while (localNames[index] != null) {
+                    index = (index + 1) & mask;
+                }
+
+                namespaceURIs[index] = namespaceURI;
+                localNames[index] = localName;
+                infos[index] = info.getValue();
+            }
+        }
+    }
+
+    ObjectBuilder<?> getBuilder(int index) {
+        return infos[index].getBuilder();
+    }
+
+    ObjectBuilder<?> getBuilder(int index, Class<?> objectType) {
+        return isAssignable(objectType, index) ? infos[index].getBuilder() : null;
+    }
+
+    private boolean isAssignable(Class<?> objectType, int index) {
+        if (objectType == Object.class) {
+            return true;
+        }
+
+        // a lost update caused by concurrent access only leads to recomputing the value
+        byte[] states = assignable.get(objectType);
+        byte state = states[index];
+        if (state == 0) {
+            state = objectType.isAssignableFrom(infos[index].getObjectType()) ? (byte) 1 : (byte) 2;
+            states[index] = state;
+        }
+
+        return state == 1;
+    }
+
+    int indexOf(String namespaceURI, String localName) {
+        int index = hash(namespaceURI, localName) & mask;
+        String candidate;
+        while ((candidate = localNames[index]) != null) {
+            if ((candidate == localName || candidate.equals(localName))
+                    && (namespaceURIs[index] == namespaceURI || namespaceURIs[index].equals(namespaceURI))) {
+                return index;
+            }
+
+            index = (index + 1) & mask;
+        }
+
+        return -1;
+    }
+
+    private int hash(String namespaceURI, String localName) {
+        int hash = 31 * localName.hashCode() + namespaceURI.hashCode();
+        return hash ^ (hash >>> 16);
+    }
+}
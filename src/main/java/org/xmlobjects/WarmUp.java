@@ -0,0 +1,205 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright Claus Nagel <claus.nagel@gmail.com>
+ */
+
+package org.xmlobjects;
+
+import org.xmlobjects.builder.ObjectBuildException;
+import org.xmlobjects.serializer.ObjectSerializeException;
+import org.xmlobjects.stream.*;
+import org.xmlobjects.xml.Attributes;
+import org.xmlobjects.xml.Element;
+import org.xmlobjects.xml.Namespaces;
+import org.xmlobjects.xml.TextContent;
+
+import javax.xml.datatype.Duration;
+import javax.xml.namespace.QName;
+import java.io.ByteArrayOutputStream;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+
+final class WarmUp {
+    private static final String NAMESPACE_URI = "urn:xmlobjects:warm-up";
+    private static final String EXTENSION_NAMESPACE_URI = "urn:xmlobjects:warm-up:ext";
+    private static final String DOCUMENT = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>" +
+            "<w:root xmlns:w=\"" + NAMESPACE_URI + "\" xmlns:x=\"" + EXTENSION_NAMESPACE_URI + "\">" +
+            "<w:item id=\"1\" x:lang=\"en\">" +
+            "<w:text>a &amp; b &lt; c &gt; d \"e\" 'f' \u00e4\u00f6\u00fc \u20ac \ud83d\ude00</w:text>" +
+            "<w:integer>42</w:integer>" +
+            "<w:double>4.2E1</w:double>" +
+            "<w:boolean>true</w:boolean>" +
+            "<w:dateTime>2024-01-01T12:00:00.5+01:00</w:dateTime>" +
+            "<w:date>2024-01-01</w:date>" +
+            "<w:duration>P1Y2M3DT4H5M6S</w:duration>" +
+            "<w:list>1 2 3</w:list>" +
+            "<w:mixed>a <x:b x:c=\"d\">b</x:b> c</w:mixed>" +
+            "<w:dom x:attr=\"1\"><x:child>c</x:child></w:dom>" +
+            "</w:item>" +
+            "</w:root>";
+
+    private final XMLObjects xmlObjects;
+    private final XMLReaderFactory readerFactory;
+    private final XMLWriterFactory writerFactory;
+
+    WarmUp(XMLObjects xmlObjects) throws XMLObjectsException {
+        this.xmlObjects = xmlObjects;
+        writerFactory = XMLWriterFactory.newInstance(xmlObjects);
+
+        try {
+            readerFactory = XMLReaderFactory.newInstance(xmlObjects);
+        } catch (XMLReadException e) {
+            throw new XMLObjectsException("Failed to create an XML reader factory for warming up.", e);
+        }
+    }
+
+    void run(int iterations) throws XMLObjectsException {
+        try {
+            for (int i = 0; i < iterations; i++) {
+                Content content = read();
+                write(content, new Target(i));
+            }
+        } catch (ObjectSerializeException | XMLReadException | XMLWriteException e) {
+            throw new XMLObjectsException("Failed to warm up the read and write paths.", e);
+        }
+    }
+
+    void run(Collection<QName> elementNames) {
+        // every registered builder and serializer is invoked once, so their side effects happen as well
+        for (QName name : elementNames) {
+            String document = name.getNamespaceURI().isEmpty() ?
+                    "<" + name.getLocalPart() + "/>" :
+                    "<p:" + name.getLocalPart() + " xmlns:p=\"" + escape(name.getNamespaceURI()) + "\"/>";
+            try (XMLReader reader = readerFactory.createReader(new StringReader(document))) {
+                if (reader.nextTag() == EventType.START_ELEMENT) {
+                    Object object = reader.getObject(Object.class);
+                    if (object != null) {
+                        try (XMLWriter writer = writerFactory.createWriter(new StringWriter())) {
+                            xmlObjects.toXML(writer, object, Namespaces.of(name.getNamespaceURI()));
+                        }
+                    }
+                }
+            } catch (ObjectBuildException | ObjectSerializeException | XMLReadException | XMLWriteException |
+                     RuntimeException e) {
+                // builders and serializers may reject the synthetic empty element in any way, for example with
+                // a NullPointerException for missing content, which only means that this element is not warmed up
+            }
+        }
+    }
+
+    private Content read() throws XMLReadException {
+        Content content = new Content();
+        try (XMLReader reader = readerFactory.createReader(new StringReader(DOCUMENT))) {
+            while (reader.hasNext()) {
+                if (reader.nextTag() == EventType.START_ELEMENT) {
+                    switch (reader.getName().getLocalPart()) {
+                        case "item":
+                            Attributes attributes = reader.getAttributes();
+                            content.id = attributes.getValue("id").getAsInteger();
+                            content.lang = attributes.getValue(EXTENSION_NAMESPACE_URI, "lang").get();
+                            break;
+                        case "text":
+                            content.text = reader.getTextContent().get();
+                            break;
+                        case "integer":
+                            content.integer = reader.getTextContent().getAsInteger();
+                            break;
+                        case "double":
+                            content.doubleValue = reader.getTextContent().getAsDouble();
+                            break;
+                        case "boolean":
+                            content.booleanValue = reader.getTextContent().getAsBoolean();
+                            break;
+                        case "dateTime":
+                            content.dateTime = reader.getTextContent().getAsDateTime();
+                            break;
+                        case "date":
+                            content.date = reader.getTextContent().getAsDate();
+                            break;
+                        case "duration":
+                            content.duration = reader.getTextContent().getAsDuration();
+                            break;
+                        case "list":
+                            content.list = reader.getTextContent().getAsIntegerList();
+                            break;
+                        case "mixed":
+                            content.mixed = reader.getMixedContent();
+                            break;
+                        case "dom":
+                            content.dom = reader.getDOMElement();
+                            break;
+                    }
+                }
+            }
+        }
+
+        return content;
+    }
+
+    private void write(Content content, Target target) throws ObjectSerializeException, XMLWriteException {
+        try (XMLWriter writer = target.createWriter()) {
+            writer.withPrefix("w", NAMESPACE_URI)
+                    .withPrefix("x", EXTENSION_NAMESPACE_URI)
+                    .withIndent(target.indent ? "  " : null)
+                    .writeStartDocument();
+
+            writer.writeStartElement(Element.of(NAMESPACE_URI, "root"));
+            writer.writeStartElement(Element.of(NAMESPACE_URI, "item")
+                    .addAttribute("id", TextContent.ofInteger(content.id))
+                    .addAttribute(EXTENSION_NAMESPACE_URI, "lang", content.lang));
+            writer.writeElement(Element.of(NAMESPACE_URI, "text").addTextContent(content.text));
+            writer.writeElement(Element.of(NAMESPACE_URI, "integer").addTextContent(TextContent.ofInteger(content.integer)));
+            writer.writeElement(Element.of(NAMESPACE_URI, "double").addTextContent(TextContent.ofDouble(content.doubleValue)));
+            writer.writeElement(Element.of(NAMESPACE_URI, "boolean").addTextContent(TextContent.ofBoolean(content.booleanValue)));
+            writer.writeElement(Element.of(NAMESPACE_URI, "dateTime").addTextContent(TextContent.ofDateTime(content.dateTime)));
+            writer.writeElement(Element.of(NAMESPACE_URI, "date").addTextContent(TextContent.ofDate(content.date)));
+            writer.writeElement(Element.of(NAMESPACE_URI, "duration").addTextContent(TextContent.ofDuration(content.duration)));
+            writer.writeElement(Element.of(NAMESPACE_URI, "list").addTextContent(TextContent.ofIntegerList(content.list)));
+            writer.writeStartElement(Element.of(NAMESPACE_URI, "mixed"));
+            writer.writeMixedContent(content.mixed);
+            writer.writeEndElement();
+            writer.writeDOMElement(content.dom);
+            writer.writeEndElements(2);
+            writer.writeEndDocument();
+        }
+    }
+
+    private String escape(String value) {
+        return value.replace("&", "&amp;").replace("\"", "&quot;").replace("<", "&lt;");
+    }
+
+    private static class Content {
+        int id;
+        String lang;
+        String text;
+        Integer integer;
+        Double doubleValue;
+        Boolean booleanValue;
+        OffsetDateTime dateTime;
+        OffsetDateTime date;
+        Duration duration;
+        List<Integer> list;
+        String mixed;
+        org.w3c.dom.Element dom;
+    }
+
+    private class Target {
+        private final boolean indent;
+        private final boolean bytes;
+
+        Target(int iteration) {
+            indent = (iteration & 1) == 0;
+            bytes = (iteration & 2) == 0;
+        }
+
+        XMLWriter createWriter() throws XMLWriteException {
+            // alternate between character and byte output to warm up both encoding paths
+            return bytes ?
+                    writerFactory.createWriter(new ByteArrayOutputStream(), "UTF-8") :
+                    writerFactory.createWriter(new StringWriter());
+        }
+    }
+}
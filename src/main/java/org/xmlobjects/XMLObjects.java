@@ -6,33 +6,59 @@
 package org.xmlobjects;
 
 import org.atteo.classindex.ClassIndex;
-import org.w3c.dom.Element;
 import org.xmlobjects.annotation.XMLElement;
 import org.xmlobjects.annotation.XMLElements;
 import org.xmlobjects.builder.ObjectBuildException;
 import org.xmlobjects.builder.ObjectBuilder;
+import org.xmlobjects.registry.BuilderEntry;
+import org.xmlobjects.registry.ObjectRegistry;
+import org.xmlobjects.registry.SerializerEntry;
 import org.xmlobjects.serializer.ObjectSerializeException;
 import org.xmlobjects.serializer.ObjectSerializer;
 import org.xmlobjects.stream.*;
+import org.xmlobjects.xml.Element;
 import org.xmlobjects.xml.Namespaces;
 
 import javax.xml.XMLConstants;
 import javax.xml.namespace.QName;
+import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 public class XMLObjects {
-    private final Map<String, Map<String, BuilderInfo>> builders = new ConcurrentHashMap<>();
-    private final Map<String, Map<String, ObjectSerializer<?>>> serializers = new ConcurrentHashMap<>();
-    private Set<String> serializableNamespaces;
+    private static final int DEFAULT_WARM_UP_ITERATIONS = 500;
 
-    private record BuilderInfo(ObjectBuilder<?> builder, Class<?> objectType) {
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>(Snapshot.EMPTY);
+    private final XMLObjects parent;
+    private volatile Snapshot overlay;
+
+    private record BuilderNames(BuilderInfo info, Set<QName> names, Set<String> namespaceURIs) {
+    }
+
+    private record BuilderRegistration(String namespaceURI, String localName, BuilderInfo info) {
+    }
+
+    private record SerializerRegistration(Class<?> objectType, String namespaceURI, SerializerInfo info) {
+    }
+
+    private record SerializerCandidate(String namespaceURI, SerializerInfo info) {
+    }
+
+    @FunctionalInterface
+    private interface SnapshotUpdate<E extends Exception> {
+        Snapshot apply(Snapshot snapshot) throws E;
     }
 
     private XMLObjects() {
+        this(null);
+    }
+
+    private XMLObjects(XMLObjects parent) {
+        this.parent = parent;
     }
 
     public static XMLObjects newInstance() throws XMLObjectsException {
@@ -46,21 +72,79 @@ public class XMLObjects {
         return context;
     }
 
+    public static XMLObjects newLazyInstance() throws XMLObjectsException {
+        return newLazyInstance(Thread.currentThread().getContextClassLoader());
+    }
+
+    public static XMLObjects newLazyInstance(ClassLoader classLoader) throws XMLObjectsException {
+        XMLObjects context = new XMLObjects();
+        context.loadBuilders(classLoader, true, true);
+        context.loadSerializers(classLoader, true, true);
+        return context;
+    }
+
+    public XMLObjects overlay() {
+        return new XMLObjects(this);
+    }
+
+    public XMLObjects getParent() {
+        return parent;
+    }
+
+    public XMLObjects freeze() {
+        Snapshot current;
+        do {
+            current = snapshot.get();
+        } while (!current.frozen
+                && !snapshot.compareAndSet(current, new Snapshot(current.builders, current.serializers, true)));
+
+        return this;
+    }
+
+    public boolean isFrozen() {
+        return snapshot.get().frozen;
+    }
+
+    public XMLObjects warmUp() throws XMLObjectsException {
+        return warmUp(DEFAULT_WARM_UP_ITERATIONS);
+    }
+
+    public XMLObjects warmUp(int iterations) throws XMLObjectsException {
+        Snapshot snapshot = getSnapshot();
+        Map<QName, BuilderInfo> builders = new HashMap<>();
+        snapshot.collectBuilders(builders);
+        for (BuilderInfo info : builders.values()) {
+            initialize(info::getBuilder);
+            initialize(info::getObjectType);
+        }
+
+        Set<SerializerInfo> serializers = new HashSet<>();
+        snapshot.collectSerializers(serializers);
+        for (SerializerInfo info : serializers) {
+            initialize(info::getSerializer);
+        }
+
+        // the registered builders and serializers are invoked on synthetic elements
+        WarmUp warmUp = new WarmUp(this);
+        warmUp.run(builders.keySet());
+        warmUp.run(iterations);
+        return this;
+    }
+
     public XMLObjects registerBuilder(ObjectBuilder<?> builder, String namespaceURI, String localName) throws XMLObjectsException {
-        registerBuilder(builder, namespaceURI, localName, false);
+        BuilderInfo info = new BuilderInfo(builder, findBuilderObjectType(builder.getClass()));
+        registerBuilders(List.of(new BuilderRegistration(namespaceURI, localName, info)), false);
         return this;
     }
 
     public ObjectBuilder<?> getBuilder(String namespaceURI, String localName) {
-        BuilderInfo info = builders.getOrDefault(namespaceURI, Collections.emptyMap()).get(localName);
-        return info != null ? info.builder : null;
+        return getSnapshot().getBuilder(namespaceURI, localName);
     }
 
     @SuppressWarnings("unchecked")
     public <T> ObjectBuilder<T> getBuilder(String namespaceURI, String localName, Class<T> objectType) {
         Objects.requireNonNull(objectType, "Object type must not be null.");
-        BuilderInfo info = builders.getOrDefault(namespaceURI, Collections.emptyMap()).get(localName);
-        return info != null && objectType.isAssignableFrom(info.objectType) ? (ObjectBuilder<T>) info.builder : null;
+        return (ObjectBuilder<T>) getSnapshot().getBuilder(namespaceURI, localName, objectType);
     }
 
     public ObjectBuilder<?> getBuilder(String localName) {
@@ -80,37 +164,30 @@ public class XMLObjects {
     }
 
     public Class<?> getObjectType(ObjectBuilder<?> builder) {
-        for (Map<String, BuilderInfo> infos : builders.values()) {
-            for (BuilderInfo info : infos.values()) {
-                if (info.builder == builder) {
-                    return info.objectType;
-                }
-            }
-        }
-
-        return Object.class;
+        BuilderNames names = getSnapshot().getBuilderNames(builder);
+        return names != null ? names.info.getObjectType() : Object.class;
     }
 
     public Class<?> getObjectType(String namespaceURI, ObjectBuilder<?> builder) {
-        for (BuilderInfo info : builders.getOrDefault(namespaceURI, Collections.emptyMap()).values()) {
-            if (info.builder == builder) {
-                return info.objectType;
-            }
-        }
+        BuilderNames names = getSnapshot().getBuilderNames(builder);
+        return names != null && names.namespaceURIs.contains(namespaceURI) ? names.info.getObjectType() : Object.class;
+    }
 
-        return Object.class;
+    public Set<QName> getElementNames(ObjectBuilder<?> builder) {
+        BuilderNames names = getSnapshot().getBuilderNames(builder);
+        return names != null ? names.names : Collections.emptySet();
     }
 
     public <T> XMLObjects registerSerializer(ObjectSerializer<T> serializer, Class<T> objectType, String namespaceURI) throws XMLObjectsException {
-        registerSerializer(serializer, objectType, namespaceURI, false);
-        serializableNamespaces = null;
+        SerializerInfo info = new SerializerInfo(serializer);
+        registerSerializers(List.of(new SerializerRegistration(objectType, namespaceURI, info)), false);
         return this;
     }
 
     @SuppressWarnings("unchecked")
     public <T> ObjectSerializer<T> getSerializer(Class<T> objectType, String namespaceURI) {
-        ObjectSerializer<?> serializer = serializers.getOrDefault(objectType.getName(), Collections.emptyMap()).get(namespaceURI);
-        return serializer != null ? (ObjectSerializer<T>) serializer : null;
+        SerializerInfo info = getSnapshot().getSerializer(objectType.getName(), namespaceURI);
+        return info != null ? (ObjectSerializer<T>) info.getSerializer() : null;
     }
 
     public <T> ObjectSerializer<T> getSerializer(Class<T> objectType) {
@@ -119,33 +196,20 @@ public class XMLObjects {
 
     @SuppressWarnings("unchecked")
     public <T> ObjectSerializer<T> getSerializer(Class<T> objectType, Namespaces namespaces) {
-        Map<String, ObjectSerializer<?>> map = serializers.getOrDefault(objectType.getName(), Collections.emptyMap());
-        for (Map.Entry<String, ObjectSerializer<?>> entry : map.entrySet()) {
-            if (namespaces.contains(entry.getKey())) {
-                return (ObjectSerializer<T>) entry.getValue();
-            }
-        }
-
-        return null;
+        return (ObjectSerializer<T>) getSnapshot().serializerCache.get(objectType).resolve(namespaces);
     }
 
     public Set<String> getSerializableNamespaces() {
-        if (serializableNamespaces == null) {
-            serializableNamespaces = serializers.values().stream()
-                    .flatMap(map -> map.keySet().stream())
-                    .collect(Collectors.toSet());
-        }
-
-        return serializableNamespaces;
+        return getSnapshot().getSerializableNamespaces();
     }
 
     public Map<Class<?>, Set<QName>> getObjectTypes() {
+        Map<QName, BuilderInfo> builders = new HashMap<>();
+        getSnapshot().collectBuilders(builders);
+
         Map<Class<?>, Set<QName>> objectTypes = new HashMap<>();
-        for (Map.Entry<String, Map<String, BuilderInfo>> entry : builders.entrySet()) {
-            for (Map.Entry<String, BuilderInfo> info : entry.getValue().entrySet()) {
-                objectTypes.computeIfAbsent(info.getValue().objectType, v -> new HashSet<>())
-                        .add(new QName(entry.getKey(), info.getKey()));
-            }
+        for (Map.Entry<QName, BuilderInfo> entry : builders.entrySet()) {
+            objectTypes.computeIfAbsent(entry.getValue().getObjectType(), v -> new HashSet<>()).add(entry.getKey());
         }
 
         return objectTypes;
@@ -197,12 +261,31 @@ public class XMLObjects {
         toXML(writer, object, Namespaces.of(getSerializableNamespaces()));
     }
 
-    @SuppressWarnings("rawtypes")
     public void loadBuilders(ClassLoader classLoader, boolean failOnDuplicates) throws XMLObjectsException {
-        for (Class<? extends ObjectBuilder> type : ClassIndex.getSubclasses(ObjectBuilder.class, classLoader).stream()
-                .filter(c -> !Modifier.isAbstract(c.getModifiers()))
-                .filter(c -> c.isAnnotationPresent(XMLElement.class) || c.isAnnotationPresent(XMLElements.class))
-                .toList()) {
+        loadBuilders(classLoader, failOnDuplicates, false);
+    }
+
+    @SuppressWarnings("rawtypes")
+    public void loadBuilders(ClassLoader classLoader, boolean failOnDuplicates, boolean lazy) throws XMLObjectsException {
+        requireNotFrozen();
+        List<BuilderRegistration> registrations = new ArrayList<>();
+        Set<String> registered = new HashSet<>();
+        for (ObjectRegistry registry : getRegistries(classLoader)) {
+            for (BuilderEntry entry : registry.getBuilders()) {
+                if (registered.add(entry.builderClass().getName())) {
+                    BuilderInfo info = new BuilderInfo(entry.builderClass(), entry.factory(), entry.objectType());
+                    if (!lazy) {
+                        initialize(info::getBuilder);
+                    }
+
+                    for (QName name : entry.elementNames()) {
+                        registrations.add(new BuilderRegistration(name.getNamespaceURI(), name.getLocalPart(), info));
+                    }
+                }
+            }
+        }
+
+        for (Class<? extends ObjectBuilder> type : getSubclasses(ObjectBuilder.class, classLoader, registered)) {
             boolean isSetElement = type.isAnnotationPresent(XMLElement.class);
             boolean isSetElements = type.isAnnotationPresent(XMLElements.class);
 
@@ -210,31 +293,51 @@ public class XMLObjects {
                 throw new XMLObjectsException("The builder " + type.getName() + " uses both @XMLElement and @XMLElements.");
             }
 
-            ObjectBuilder<?> builder;
-            try {
-                builder = type.getDeclaredConstructor().newInstance();
-            } catch (Exception e) {
-                throw new XMLObjectsException("The builder " + type.getName() + " lacks a default constructor.", e);
+            BuilderInfo info = new BuilderInfo(type, newFactory(type, "builder"), null);
+            if (!lazy) {
+                initialize(info::getBuilder);
+                initialize(info::getObjectType);
             }
 
             if (isSetElement) {
                 XMLElement element = type.getAnnotation(XMLElement.class);
-                registerBuilder(builder, element.namespaceURI(), element.name(), failOnDuplicates);
+                registrations.add(new BuilderRegistration(element.namespaceURI(), element.name(), info));
             } else if (isSetElements) {
                 XMLElements elements = type.getAnnotation(XMLElements.class);
                 for (XMLElement element : elements.value()) {
-                    registerBuilder(builder, element.namespaceURI(), element.name(), failOnDuplicates);
+                    registrations.add(new BuilderRegistration(element.namespaceURI(), element.name(), info));
                 }
             }
         }
+
+        registerBuilders(registrations, failOnDuplicates);
     }
 
-    @SuppressWarnings("rawtypes")
     public void loadSerializers(ClassLoader classLoader, boolean failOnDuplicates) throws XMLObjectsException {
-        for (Class<? extends ObjectSerializer> type : ClassIndex.getSubclasses(ObjectSerializer.class, classLoader).stream()
-                .filter(c -> !Modifier.isAbstract(c.getModifiers()))
-                .filter(c -> c.isAnnotationPresent(XMLElement.class) || c.isAnnotationPresent(XMLElements.class))
-                .toList()) {
+        loadSerializers(classLoader, failOnDuplicates, false);
+    }
+
+    @SuppressWarnings("rawtypes")
+    public void loadSerializers(ClassLoader classLoader, boolean failOnDuplicates, boolean lazy) throws XMLObjectsException {
+        requireNotFrozen();
+        List<SerializerRegistration> registrations = new ArrayList<>();
+        Set<String> registered = new HashSet<>();
+        for (ObjectRegistry registry : getRegistries(classLoader)) {
+            for (SerializerEntry entry : registry.getSerializers()) {
+                if (registered.add(entry.serializerClass().getName())) {
+                    SerializerInfo info = new SerializerInfo(entry.serializerClass(), entry.factory());
+                    if (!lazy) {
+                        initialize(info::getSerializer);
+                    }
+
+                    for (String namespaceURI : entry.namespaceURIs()) {
+                        registrations.add(new SerializerRegistration(entry.objectType(), namespaceURI, info));
+                    }
+                }
+            }
+        }
+
+        for (Class<? extends ObjectSerializer> type : getSubclasses(ObjectSerializer.class, classLoader, registered)) {
             boolean isSetElement = type.isAnnotationPresent(XMLElement.class);
             boolean isSetElements = type.isAnnotationPresent(XMLElements.class);
 
@@ -242,68 +345,208 @@ public class XMLObjects {
                 throw new XMLObjectsException("The serializer " + type.getName() + " uses both @XMLElement and @XMLElements.");
             }
 
-            ObjectSerializer<?> serializer;
-            try {
-                serializer = type.getDeclaredConstructor().newInstance();
-            } catch (Exception e) {
-                throw new XMLObjectsException("The serializer " + type.getName() + " lacks a default constructor.", e);
+            SerializerInfo info = new SerializerInfo(type, newFactory(type, "serializer"));
+            if (!lazy) {
+                initialize(info::getSerializer);
             }
 
-            Class<?> objectType = findObjectType(serializer);
+            // the object type is required for registration and therefore cannot be determined lazily
+            Class<?> objectType = findSerializerObjectType(type);
             if (isSetElement) {
                 XMLElement element = type.getAnnotation(XMLElement.class);
-                registerSerializer(serializer, objectType, element.namespaceURI(), failOnDuplicates);
+                registrations.add(new SerializerRegistration(objectType, element.namespaceURI(), info));
             } else if (isSetElements) {
                 XMLElements elements = type.getAnnotation(XMLElements.class);
                 for (XMLElement element : elements.value()) {
-                    registerSerializer(serializer, objectType, element.namespaceURI(), failOnDuplicates);
+                    registrations.add(new SerializerRegistration(objectType, element.namespaceURI(), info));
                 }
             }
         }
+
+        registerSerializers(registrations, failOnDuplicates);
     }
 
     public void unloadBuilders(String namespaceURI) {
         if (namespaceURI != null) {
-            builders.remove(namespaceURI);
+            update(snapshot -> {
+                Map<String, Map<String, BuilderInfo>> builders = new HashMap<>(snapshot.builders);
+                builders.remove(namespaceURI);
+                return new Snapshot(builders, snapshot.serializers, false);
+            });
         }
     }
 
     public void unloadSerializers(String namespaceURI) {
         if (namespaceURI != null) {
-            serializers.values().forEach(v -> v.remove(namespaceURI));
-            serializableNamespaces = null;
+            update(snapshot -> {
+                Map<String, Map<String, SerializerInfo>> serializers = new HashMap<>();
+                for (Map.Entry<String, Map<String, SerializerInfo>> entry : snapshot.serializers.entrySet()) {
+                    Map<String, SerializerInfo> infos = entry.getValue();
+                    if (infos.containsKey(namespaceURI)) {
+                        infos = new HashMap<>(infos);
+                        infos.remove(namespaceURI);
+                    }
+
+                    serializers.put(entry.getKey(), infos);
+                }
+
+                return new Snapshot(snapshot.builders, serializers, false);
+            });
+        }
+    }
+
+    private Snapshot getSnapshot() {
+        Snapshot snapshot = this.snapshot.get();
+        if (parent == null) {
+            return snapshot;
+        }
+
+        // combine the own registrations with the current registrations of the parent
+        Snapshot parentSnapshot = parent.getSnapshot();
+        Snapshot overlay = this.overlay;
+        if (overlay == null || overlay.base != snapshot || overlay.parent != parentSnapshot) {
+            overlay = new Snapshot(snapshot, parentSnapshot);
+            this.overlay = overlay;
+        }
+
+        return overlay;
+    }
+
+    private <E extends Exception> void update(SnapshotUpdate<E> update) throws E {
+        Snapshot current, updated;
+        do {
+            current = snapshot.get();
+            if (current.frozen) {
+                throw new UnsupportedOperationException("XMLObjects is frozen and cannot be modified.");
+            }
+
+            updated = update.apply(current);
+        } while (!snapshot.compareAndSet(current, updated));
+    }
+
+    private void requireNotFrozen() {
+        if (snapshot.get().frozen) {
+            throw new UnsupportedOperationException("XMLObjects is frozen and cannot be modified.");
+        }
+    }
+
+    private List<ObjectRegistry> getRegistries(ClassLoader classLoader) throws XMLObjectsException {
+        try {
+            return ServiceLoader.load(ObjectRegistry.class, classLoader).stream()
+                    .map(ServiceLoader.Provider::get)
+                    .toList();
+        } catch (ServiceConfigurationError e) {
+            throw new XMLObjectsException("Failed to load the generated object registries.", e);
         }
     }
 
-    private void registerBuilder(ObjectBuilder<?> builder, String namespaceURI, String localName, boolean failOnDuplicates) throws XMLObjectsException {
-        BuilderInfo info = new BuilderInfo(builder, findObjectType(builder));
-        BuilderInfo current = builders.computeIfAbsent(namespaceURI, v -> new HashMap<>()).put(localName, info);
-        if (current != null && current.builder != builder && failOnDuplicates) {
-            throw new XMLObjectsException("Two builders are registered for the XML element " +
-                    new QName(namespaceURI, localName) + ": " +
-                    builder.getClass().getName() + " and " + current.builder.getClass().getName() + ".");
+    private <T> List<Class<? extends T>> getSubclasses(Class<T> superClass, ClassLoader classLoader, Set<String> skip) {
+        List<Class<? extends T>> subclasses = new ArrayList<>();
+        for (String name : ClassIndex.getSubclassesNames(superClass, classLoader)) {
+            if (!skip.contains(name)) {
+                try {
+                    Class<?> type = Class.forName(name, false, classLoader);
+                    if (superClass.isAssignableFrom(type)
+                            && !Modifier.isAbstract(type.getModifiers())
+                            && (type.isAnnotationPresent(XMLElement.class) || type.isAnnotationPresent(XMLElements.class))) {
+                        subclasses.add(type.asSubclass(superClass));
+                    }
+                } catch (ClassNotFoundException | LinkageError e) {
+                    //
+                }
+            }
+        }
+
+        return subclasses;
+    }
+
+    private Supplier<?> newFactory(Class<?> type, String kind) throws XMLObjectsException {
+        // the default constructor is resolved when registering so that lazy instantiation cannot fail on lookup
+        Constructor<?> constructor;
+        try {
+            constructor = type.getDeclaredConstructor();
+        } catch (NoSuchMethodException | SecurityException e) {
+            throw new XMLObjectsException("The " + kind + " " + type.getName() + " lacks a default constructor.", e);
+        }
+
+        if (!constructor.canAccess(null)) {
+            throw new XMLObjectsException("The default constructor of the " + kind + " " + type.getName() +
+                    " is not accessible.");
         }
+
+        return () -> {
+            try {
+                return constructor.newInstance();
+            } catch (Exception e) {
+                throw new IllegalStateException("Failed to create the " + kind + " " + type.getName() + ".", e);
+            }
+        };
     }
 
-    private void registerSerializer(ObjectSerializer<?> serializer, Class<?> objectType, String namespaceURI, boolean failOnDuplicates) throws XMLObjectsException {
-        ObjectSerializer<?> current = serializers.computeIfAbsent(objectType.getName(), v -> new HashMap<>()).put(namespaceURI, serializer);
-        if (current != null && current != serializer && failOnDuplicates) {
-            throw new XMLObjectsException("Two serializers are registered for the object type " +
-                    objectType.getName() + ": " +
-                    serializer.getClass().getName() + " and " + current.getClass().getName() + ".");
+    private void initialize(Supplier<?> supplier) throws XMLObjectsException {
+        try {
+            supplier.get();
+        } catch (IllegalStateException e) {
+            throw new XMLObjectsException(e.getMessage(), e.getCause());
         }
     }
 
-    private Class<?> findObjectType(ObjectBuilder<?> builder) throws XMLObjectsException {
+    private void registerBuilders(List<BuilderRegistration> registrations, boolean failOnDuplicates) throws XMLObjectsException {
+        update(snapshot -> {
+            Map<String, Map<String, BuilderInfo>> builders = new HashMap<>(snapshot.builders);
+            Set<String> copied = new HashSet<>();
+            for (BuilderRegistration registration : registrations) {
+                Map<String, BuilderInfo> infos = builders.get(registration.namespaceURI);
+                if (copied.add(registration.namespaceURI)) {
+                    infos = infos != null ? new HashMap<>(infos) : new HashMap<>();
+                    builders.put(registration.namespaceURI, infos);
+                }
+
+                BuilderInfo current = infos.put(registration.localName, registration.info);
+                if (current != null && !current.isSameAs(registration.info) && failOnDuplicates) {
+                    throw new XMLObjectsException("Two builders are registered for the XML element " +
+                            new QName(registration.namespaceURI, registration.localName) + ": " +
+                            registration.info.builderClass.getName() + " and " + current.builderClass.getName() + ".");
+                }
+            }
+
+            return new Snapshot(builders, snapshot.serializers, false);
+        });
+    }
+
+    private void registerSerializers(List<SerializerRegistration> registrations, boolean failOnDuplicates) throws XMLObjectsException {
+        update(snapshot -> {
+            Map<String, Map<String, SerializerInfo>> serializers = new HashMap<>(snapshot.serializers);
+            Set<String> copied = new HashSet<>();
+            for (SerializerRegistration registration : registrations) {
+                String objectType = registration.objectType.getName();
+                Map<String, SerializerInfo> infos = serializers.get(objectType);
+                if (copied.add(objectType)) {
+                    infos = infos != null ? new HashMap<>(infos) : new HashMap<>();
+                    serializers.put(objectType, infos);
+                }
+
+                SerializerInfo current = infos.put(registration.namespaceURI, registration.info);
+                if (current != null && !current.isSameAs(registration.info) && failOnDuplicates) {
+                    throw new XMLObjectsException("Two serializers are registered for the object type " +
+                            objectType + ": " +
+                            registration.info.serializerClass.getName() + " and " + current.serializerClass.getName() + ".");
+                }
+            }
+
+            return new Snapshot(snapshot.builders, serializers, false);
+        });
+    }
+
+    private static Class<?> findBuilderObjectType(Class<?> type) throws XMLObjectsException {
         try {
-            return builder.getClass().getMethod("createObject", QName.class, Object.class).getReturnType();
+            return type.getMethod("createObject", QName.class, Object.class).getReturnType();
         } catch (NoSuchMethodException e) {
-            throw new XMLObjectsException("The builder " + builder.getClass().getName() + " lacks the createObject method.", e);
+            throw new XMLObjectsException("The builder " + type.getName() + " lacks the createObject method.", e);
         }
     }
 
-    private Class<?> findObjectType(ObjectSerializer<?> serializer) throws XMLObjectsException {
-        Class<?> clazz = serializer.getClass();
+    private static Class<?> findSerializerObjectType(Class<?> clazz) throws XMLObjectsException {
         Class<?> objectType = null;
 
         for (Method method : clazz.getDeclaredMethods()) {
@@ -357,4 +600,314 @@ public class XMLObjects {
                     "at least one of the methods createElement, initializeElement, and writeChildElements.");
         }
     }
+
+    private static final class Snapshot {
+        private static final Snapshot EMPTY = new Snapshot(Collections.emptyMap(), Collections.emptyMap(), false);
+
+        private final Map<String, Map<String, BuilderInfo>> builders;
+        private final Map<String, Map<String, SerializerInfo>> serializers;
+        private final boolean frozen;
+        private final Snapshot base;
+        private final Snapshot parent;
+        private final SerializerCache serializerCache;
+        private volatile BuilderTable builderTable;
+        private volatile Map<Class<?>, List<BuilderNames>> builderNames;
+        private volatile Set<String> serializableNamespaces;
+
+        Snapshot(Map<String, Map<String, BuilderInfo>> builders, Map<String, Map<String, SerializerInfo>> serializers, boolean frozen) {
+            this.builders = builders;
+            this.serializers = serializers;
+            this.frozen = frozen;
+            base = this;
+            parent = null;
+            serializerCache = new SerializerCache(this);
+        }
+
+        Snapshot(Snapshot base, Snapshot parent) {
+            builders = base.builders;
+            serializers = base.serializers;
+            frozen = base.frozen;
+            this.base = base;
+            this.parent = parent;
+            serializerCache = new SerializerCache(this);
+        }
+
+        ObjectBuilder<?> getBuilder(String namespaceURI, String localName) {
+            BuilderTable builderTable = getBuilderTable();
+            int index = builderTable.indexOf(namespaceURI, localName);
+            if (index != -1) {
+                return builderTable.getBuilder(index);
+            } else {
+                return parent != null ? parent.getBuilder(namespaceURI, localName) : null;
+            }
+        }
+
+        ObjectBuilder<?> getBuilder(String namespaceURI, String localName, Class<?> objectType) {
+            BuilderTable builderTable = getBuilderTable();
+            int index = builderTable.indexOf(namespaceURI, localName);
+            if (index != -1) {
+                return builderTable.getBuilder(index, objectType);
+            } else {
+                return parent != null ? parent.getBuilder(namespaceURI, localName, objectType) : null;
+            }
+        }
+
+        void collectBuilders(Map<QName, BuilderInfo> builders) {
+            if (parent != null) {
+                parent.collectBuilders(builders);
+            }
+
+            for (Map.Entry<String, Map<String, BuilderInfo>> entry : this.builders.entrySet()) {
+                for (Map.Entry<String, BuilderInfo> info : entry.getValue().entrySet()) {
+                    builders.put(new QName(entry.getKey(), info.getKey()), info.getValue());
+                }
+            }
+        }
+
+        void collectSerializers(Set<SerializerInfo> serializers) {
+            if (parent != null) {
+                parent.collectSerializers(serializers);
+            }
+
+            this.serializers.values().forEach(infos -> serializers.addAll(infos.values()));
+        }
+
+        SerializerInfo getSerializer(String objectType, String namespaceURI) {
+            SerializerInfo info = serializers.getOrDefault(objectType, Collections.emptyMap()).get(namespaceURI);
+            return info == null && parent != null ? parent.getSerializer(objectType, namespaceURI) : info;
+        }
+
+        Map<String, SerializerInfo> getSerializers(String objectType) {
+            Map<String, SerializerInfo> serializers = this.serializers.getOrDefault(objectType, Collections.emptyMap());
+            if (parent != null) {
+                Map<String, SerializerInfo> inherited = parent.getSerializers(objectType);
+                if (serializers.isEmpty()) {
+                    return inherited;
+                } else if (!inherited.isEmpty()) {
+                    Map<String, SerializerInfo> merged = new HashMap<>(inherited);
+                    merged.putAll(serializers);
+                    return merged;
+                }
+            }
+
+            return serializers;
+        }
+
+        BuilderTable getBuilderTable() {
+            if (base != this) {
+                return base.getBuilderTable();
+            }
+
+            BuilderTable builderTable = this.builderTable;
+            if (builderTable == null) {
+                builderTable = new BuilderTable(builders);
+                this.builderTable = builderTable;
+            }
+
+            return builderTable;
+        }
+
+        BuilderNames getBuilderNames(ObjectBuilder<?> builder) {
+            BuilderNames names = base.findBuilderNames(builder);
+            return names == null && parent != null ? parent.getBuilderNames(builder) : names;
+        }
+
+        private BuilderNames findBuilderNames(ObjectBuilder<?> builder) {
+            Map<Class<?>, List<BuilderNames>> builderNames = this.builderNames;
+            if (builderNames == null) {
+                // group by builder instance, or by entry if the builder has not been created yet
+                Map<Object, BuilderInfo> infos = new IdentityHashMap<>();
+                Map<Object, Set<QName>> names = new IdentityHashMap<>();
+                for (Map.Entry<String, Map<String, BuilderInfo>> entry : builders.entrySet()) {
+                    for (Map.Entry<String, BuilderInfo> info : entry.getValue().entrySet()) {
+                        Object key = info.getValue().getKey();
+                        infos.putIfAbsent(key, info.getValue());
+                        names.computeIfAbsent(key, v -> new HashSet<>())
+                                .add(new QName(entry.getKey(), info.getKey()));
+                    }
+                }
+
+                builderNames = new HashMap<>();
+                for (Map.Entry<Object, Set<QName>> entry : names.entrySet()) {
+                    BuilderInfo info = infos.get(entry.getKey());
+                    builderNames.computeIfAbsent(info.builderClass, v -> new ArrayList<>())
+                            .add(new BuilderNames(info, Collections.unmodifiableSet(entry.getValue()),
+                                    entry.getValue().stream().map(QName::getNamespaceURI).collect(Collectors.toSet())));
+                }
+
+                this.builderNames = builderNames;
+            }
+
+            // lazily created builders are identified by their class and the instance held by the entry
+            for (BuilderNames names : builderNames.getOrDefault(builder.getClass(), Collections.emptyList())) {
+                if (names.info.isInstance(builder)) {
+                    return names;
+                }
+            }
+
+            return null;
+        }
+
+        Set<String> getSerializableNamespaces() {
+            Set<String> serializableNamespaces = this.serializableNamespaces;
+            if (serializableNamespaces == null) {
+                Set<String> namespaces = new HashSet<>();
+                if (parent != null) {
+                    namespaces.addAll(parent.getSerializableNamespaces());
+                }
+
+                serializers.values().forEach(map -> namespaces.addAll(map.keySet()));
+                serializableNamespaces = Collections.unmodifiableSet(namespaces);
+                this.serializableNamespaces = serializableNamespaces;
+            }
+
+            return serializableNamespaces;
+        }
+    }
+
+    private static class SerializerCache extends ClassValue<SerializerCandidates> {
+        private final Snapshot snapshot;
+
+        SerializerCache(Snapshot snapshot) {
+            this.snapshot = snapshot;
+        }
+
+        @Override
+        protected SerializerCandidates computeValue(Class<?> type) {
+            // collect the serializers of the type, its superclasses, and its interfaces in this order
+            List<SerializerCandidate> candidates = new ArrayList<>();
+            Set<Class<?>> interfaces = new LinkedHashSet<>();
+            for (Class<?> clazz = type; clazz != null; clazz = clazz.getSuperclass()) {
+                addCandidates(clazz, candidates);
+                interfaces.addAll(Arrays.asList(clazz.getInterfaces()));
+            }
+
+            Deque<Class<?>> queue = new ArrayDeque<>(interfaces);
+            while (!queue.isEmpty()) {
+                Class<?> clazz = queue.poll();
+                addCandidates(clazz, candidates);
+                for (Class<?> superInterface : clazz.getInterfaces()) {
+                    if (interfaces.add(superInterface)) {
+                        queue.add(superInterface);
+                    }
+                }
+            }
+
+            return new SerializerCandidates(candidates.toArray(SerializerCandidate[]::new));
+        }
+
+        private void addCandidates(Class<?> type, List<SerializerCandidate> candidates) {
+            for (Map.Entry<String, SerializerInfo> entry : snapshot.getSerializers(type.getName()).entrySet()) {
+                candidates.add(new SerializerCandidate(entry.getKey(), entry.getValue()));
+            }
+        }
+    }
+
+    private record SerializerCandidates(SerializerCandidate[] candidates) {
+
+        ObjectSerializer<?> resolve(Namespaces namespaces) {
+            for (SerializerCandidate candidate : candidates) {
+                if (namespaces.contains(candidate.namespaceURI)) {
+                    return candidate.info.getSerializer();
+                }
+            }
+
+            return null;
+        }
+    }
+
+    static final class BuilderInfo {
+        private final Class<?> builderClass;
+        private final Supplier<?> factory;
+        private volatile ObjectBuilder<?> builder;
+        private volatile Class<?> objectType;
+
+        BuilderInfo(ObjectBuilder<?> builder, Class<?> objectType) {
+            this(builder.getClass(), null, objectType);
+            this.builder = builder;
+        }
+
+        BuilderInfo(Class<?> builderClass, Supplier<?> factory, Class<?> objectType) {
+            this.builderClass = builderClass;
+            this.factory = factory;
+            this.objectType = objectType;
+        }
+
+        ObjectBuilder<?> getBuilder() {
+            ObjectBuilder<?> builder = this.builder;
+            if (builder == null) {
+                synchronized (this) {
+                    builder = this.builder;
+                    if (builder == null) {
+                        builder = (ObjectBuilder<?>) Objects.requireNonNull(factory.get(), "The builder factory returned null.");
+                        this.builder = builder;
+                    }
+                }
+            }
+
+            return builder;
+        }
+
+        Class<?> getObjectType() {
+            Class<?> objectType = this.objectType;
+            if (objectType == null) {
+                try {
+                    objectType = findBuilderObjectType(builderClass);
+                    this.objectType = objectType;
+                } catch (XMLObjectsException e) {
+                    throw new IllegalStateException(e.getMessage(), e.getCause());
+                }
+            }
+
+            return objectType;
+        }
+
+        boolean isInstance(ObjectBuilder<?> builder) {
+            return builder == this.builder;
+        }
+
+        Object getKey() {
+            ObjectBuilder<?> builder = this.builder;
+            return builder != null ? builder : this;
+        }
+
+        boolean isSameAs(BuilderInfo other) {
+            return this == other || (builder != null && builder == other.builder);
+        }
+    }
+
+    private static final class SerializerInfo {
+        private final Class<?> serializerClass;
+        private final Supplier<?> factory;
+        private volatile ObjectSerializer<?> serializer;
+
+        SerializerInfo(ObjectSerializer<?> serializer) {
+            this(serializer.getClass(), null);
+            this.serializer = serializer;
+        }
+
+        SerializerInfo(Class<?> serializerClass, Supplier<?> factory) {
+            this.serializerClass = serializerClass;
+            this.factory = factory;
+        }
+
+        ObjectSerializer<?> getSerializer() {
+            ObjectSerializer<?> serializer = this.serializer;
+            if (serializer == null) {
+                synchronized (this) {
+                    serializer = this.serializer;
+                    if (serializer == null) {
+                        serializer = (ObjectSerializer<?>) Objects.requireNonNull(factory.get(), "The serializer factory returned null.");
+                        this.serializer = serializer;
+                    }
+                }
+            }
+
+            return serializer;
+        }
+
+        boolean isSameAs(SerializerInfo other) {
+            return this == other || (serializer != null && serializer == other.serializer);
+        }
+    }
 }
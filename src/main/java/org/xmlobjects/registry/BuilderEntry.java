@@ -0,0 +1,24 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright Claus Nagel <claus.nagel@gmail.com>
+ */
+
+package org.xmlobjects.registry;
+
+import org.xmlobjects.builder.ObjectBuilder;
+
+import javax.xml.namespace.QName;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+public record BuilderEntry(Class<?> builderClass, Supplier<? extends ObjectBuilder<?>> factory, Class<?> objectType,
+                           List<QName> elementNames) {
+
+    public BuilderEntry {
+        Objects.requireNonNull(builderClass, "The builder class must not be null.");
+        Objects.requireNonNull(factory, "The builder factory must not be null.");
+        Objects.requireNonNull(objectType, "The object type must not be null.");
+        Objects.requireNonNull(elementNames, "The element names must not be null.");
+    }
+}
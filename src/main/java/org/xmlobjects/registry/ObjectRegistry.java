@@ -0,0 +1,14 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright Claus Nagel <claus.nagel@gmail.com>
+ */
+
+package org.xmlobjects.registry;
+
+import java.util.List;
+
+public interface ObjectRegistry {
+    List<BuilderEntry> getBuilders();
+
+    List<SerializerEntry> getSerializers();
+}
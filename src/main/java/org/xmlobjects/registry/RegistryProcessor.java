@@ -0,0 +1,528 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright Claus Nagel <claus.nagel@gmail.com>
+ */
+
+package org.xmlobjects.registry;
+
+import org.xmlobjects.annotation.XMLElement;
+import org.xmlobjects.annotation.XMLElements;
+
+import javax.annotation.processing.*;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+
+@SupportedOptions(RegistryProcessor.REGISTRY_NAME_OPTION)
+public class RegistryProcessor extends AbstractProcessor {
+    public static final String REGISTRY_NAME_OPTION = "org.xmlobjects.registry.name";
+    static final String REGISTRY_SERVICE = "META-INF/services/" + ObjectRegistry.class.getName();
+    static final String NATIVE_IMAGE_CONFIG = "META-INF/native-image/org.xmlobjects/";
+
+    private static final String BUILDER_TYPE = "org.xmlobjects.builder.ObjectBuilder";
+    private static final String SERIALIZER_TYPE = "org.xmlobjects.serializer.ObjectSerializer";
+    private static final String ELEMENT_TYPE = "org.xmlobjects.xml.Element";
+    private static final String NAMESPACES_TYPE = "org.xmlobjects.xml.Namespaces";
+    private static final String WRITER_TYPE = "org.xmlobjects.stream.XMLWriter";
+    private static final int CHUNK_SIZE = 500;
+
+    private final Set<String> registries = new TreeSet<>();
+    private final Set<String> reflectiveTypes = new TreeSet<>();
+    private final List<Element> originatingElements = new ArrayList<>();
+    private final Map<String, ModuleElement> registryModules = new TreeMap<>();
+
+    private Elements elements;
+    private Types types;
+    private String registryName;
+
+    private record Entry(TypeElement type, String objectType, List<XMLElement> xmlElements) {
+    }
+
+    @Override
+    public synchronized void init(ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+        elements = processingEnv.getElementUtils();
+        types = processingEnv.getTypeUtils();
+        registryName = processingEnv.getOptions().get(REGISTRY_NAME_OPTION);
+    }
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        // all types are visited to collect the builders and serializers created by reflection
+        return Set.of("*");
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (roundEnv.processingOver()) {
+            // provides clauses can only be resolved once the registries have been generated
+            registryModules.forEach(this::checkModuleDeclaration);
+            writeServiceFile();
+            writeNativeImageConfig();
+            return false;
+        }
+
+        for (TypeElement type : ElementFilter.typesIn(roundEnv.getRootElements())) {
+            collectReflectiveTypes(type);
+        }
+
+        Map<String, Entry> builders = new TreeMap<>();
+        Map<String, Entry> serializers = new TreeMap<>();
+
+        Set<Element> annotated = new LinkedHashSet<>(roundEnv.getElementsAnnotatedWith(XMLElement.class));
+        annotated.addAll(roundEnv.getElementsAnnotatedWith(XMLElements.class));
+        for (TypeElement type : ElementFilter.typesIn(annotated)) {
+            if (!isInstantiable(type)) {
+                continue;
+            }
+
+            List<XMLElement> xmlElements = getXMLElements(type);
+            if (xmlElements == null) {
+                continue;
+            }
+
+            String name = type.getQualifiedName().toString();
+            if (isSubtype(type, BUILDER_TYPE)) {
+                String objectType = getBuilderObjectType(type);
+                if (objectType != null) {
+                    builders.put(name, new Entry(type, objectType, xmlElements));
+                }
+            }
+
+            if (isSubtype(type, SERIALIZER_TYPE)) {
+                String objectType = getSerializerObjectType(type);
+                if (objectType != null) {
+                    serializers.put(name, new Entry(type, objectType, xmlElements));
+                }
+            }
+        }
+
+        if (!builders.isEmpty() || !serializers.isEmpty()) {
+            writeRegistry(builders, serializers);
+        }
+
+        return false;
+    }
+
+    private void collectReflectiveTypes(TypeElement type) {
+        // builders and serializers may be instantiated by XMLReader.getOrCreateBuilder and
+        // XMLWriter.getOrCreateSerializer even if they are not annotated
+        if (isInstantiable(type) && (isSubtype(type, BUILDER_TYPE) || isSubtype(type, SERIALIZER_TYPE))) {
+            reflectiveTypes.add(elements.getBinaryName(type).toString());
+            originatingElements.add(type);
+        }
+
+        for (TypeElement member : ElementFilter.typesIn(type.getEnclosedElements())) {
+            collectReflectiveTypes(member);
+        }
+    }
+
+    private boolean isInstantiable(TypeElement type) {
+        if (type.getKind() != ElementKind.CLASS
+                || type.getModifiers().contains(Modifier.ABSTRACT)
+                || !isAccessible(type)) {
+            return false;
+        }
+
+        // the registry can only use public default constructors
+        List<ExecutableElement> constructors = ElementFilter.constructorsIn(type.getEnclosedElements());
+        return constructors.stream().anyMatch(c -> c.getParameters().isEmpty()
+                && c.getModifiers().contains(Modifier.PUBLIC));
+    }
+
+    private boolean isAccessible(TypeElement type) {
+        for (Element element = type; element instanceof TypeElement; element = element.getEnclosingElement()) {
+            if (!element.getModifiers().contains(Modifier.PUBLIC)) {
+                return false;
+            } else if (element.getKind() == ElementKind.CLASS
+                    && element.getEnclosingElement() instanceof TypeElement
+                    && !element.getModifiers().contains(Modifier.STATIC)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private List<XMLElement> getXMLElements(TypeElement type) {
+        XMLElement element = type.getAnnotation(XMLElement.class);
+        XMLElements elements = type.getAnnotation(XMLElements.class);
+
+        // invalid declarations are reported when loading the class at runtime
+        if (element != null && elements != null) {
+            return null;
+        }
+
+        return element != null ? List.of(element) : List.of(elements.value());
+    }
+
+    private boolean isSubtype(TypeElement type, String superType) {
+        TypeElement superElement = elements.getTypeElement(superType);
+        return superElement != null
+                && types.isSubtype(types.erasure(type.asType()), types.erasure(superElement.asType()));
+    }
+
+    private String getBuilderObjectType(TypeElement type) {
+        // mirrors Class.getMethod("createObject", QName.class, Object.class).getReturnType()
+        TypeMirror objectType = null;
+        for (ExecutableElement method : ElementFilter.methodsIn(elements.getAllMembers(type))) {
+            if (method.getSimpleName().contentEquals("createObject")
+                    && method.getModifiers().contains(Modifier.PUBLIC)
+                    && hasParameters(method, "javax.xml.namespace.QName", "java.lang.Object")) {
+                TypeMirror returnType = types.erasure(method.getReturnType());
+                if (objectType == null || types.isSubtype(returnType, objectType)) {
+                    objectType = returnType;
+                }
+            }
+        }
+
+        return getAccessibleName(objectType);
+    }
+
+    private String getSerializerObjectType(TypeElement type) {
+        // mirrors the reflective lookup of the object type of serializers in XMLObjects
+        TypeMirror objectType = null;
+        for (ExecutableElement method : ElementFilter.methodsIn(type.getEnclosedElements())) {
+            if (!method.getModifiers().contains(Modifier.PUBLIC)) {
+                continue;
+            }
+
+            List<? extends VariableElement> parameters = method.getParameters();
+            TypeMirror candidateType = null;
+            switch (method.getSimpleName().toString()) {
+                case "createElement":
+                    if (parameters.size() == 2
+                            && isType(parameters.get(1), NAMESPACES_TYPE)) {
+                        candidateType = parameters.get(0).asType();
+                    }
+                    break;
+                case "initializeElement":
+                    if (parameters.size() == 4
+                            && isType(parameters.get(0), ELEMENT_TYPE)
+                            && isType(parameters.get(2), NAMESPACES_TYPE)
+                            && isType(parameters.get(3), WRITER_TYPE)) {
+                        candidateType = parameters.get(1).asType();
+                    }
+                    break;
+                case "writeChildElements":
+                    if (parameters.size() == 3
+                            && isType(parameters.get(1), NAMESPACES_TYPE)
+                            && isType(parameters.get(2), WRITER_TYPE)) {
+                        candidateType = parameters.get(0).asType();
+                    }
+                    break;
+            }
+
+            if (candidateType != null) {
+                candidateType = types.erasure(candidateType);
+                if (objectType != null && !types.isSameType(objectType, candidateType)) {
+                    return null;
+                }
+
+                objectType = candidateType;
+            }
+        }
+
+        return getAccessibleName(objectType);
+    }
+
+    private boolean hasParameters(ExecutableElement method, String... parameterTypes) {
+        List<? extends VariableElement> parameters = method.getParameters();
+        if (parameters.size() != parameterTypes.length) {
+            return false;
+        }
+
+        for (int i = 0; i < parameterTypes.length; i++) {
+            if (!isType(parameters.get(i), parameterTypes[i])) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private boolean isType(VariableElement parameter, String type) {
+        TypeMirror erasure = types.erasure(parameter.asType());
+        return erasure.getKind() == TypeKind.DECLARED
+                && ((TypeElement) ((DeclaredType) erasure).asElement()).getQualifiedName().contentEquals(type);
+    }
+
+    private String getAccessibleName(TypeMirror type) {
+        if (type != null && type.getKind() == TypeKind.DECLARED) {
+            TypeElement element = (TypeElement) ((DeclaredType) type).asElement();
+            if (isAccessible(element)) {
+                return element.getQualifiedName().toString();
+            }
+        }
+
+        return null;
+    }
+
+    private void writeRegistry(Map<String, Entry> builders, Map<String, Entry> serializers) {
+        String qualifiedName = registryName != null && registries.isEmpty() ?
+                registryName :
+                getDefaultRegistryName(builders, serializers);
+
+        int index = qualifiedName.lastIndexOf('.');
+        String packageName = index != -1 ? qualifiedName.substring(0, index) : "";
+        String simpleName = qualifiedName.substring(index + 1);
+
+        List<Element> originating = new ArrayList<>();
+        builders.values().forEach(entry -> originating.add(entry.type));
+        serializers.values().forEach(entry -> originating.add(entry.type));
+
+        try {
+            JavaFileObject file = processingEnv.getFiler().createSourceFile(qualifiedName,
+                    originating.toArray(Element[]::new));
+            try (PrintWriter writer = new PrintWriter(file.openWriter())) {
+                writeRegistry(writer, packageName, simpleName, builders, serializers);
+            }
+
+            registries.add(qualifiedName);
+            reflectiveTypes.add(qualifiedName);
+            originatingElements.addAll(originating);
+            registryModules.put(qualifiedName, elements.getModuleOf(originating.get(0)));
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Failed to generate the registry " + qualifiedName + ": " + e.getMessage());
+        }
+    }
+
+    private void checkModuleDeclaration(String registry, ModuleElement module) {
+        // the service file is ignored for named modules, so the registry must be declared in module-info.java
+        if (module == null || module.isUnnamed()) {
+            return;
+        }
+
+        for (ModuleElement.ProvidesDirective directive : ElementFilter.providesIn(module.getDirectives())) {
+            if (directive.getService().getQualifiedName().contentEquals(ObjectRegistry.class.getName())
+                    && directive.getImplementations().stream()
+                    .anyMatch(implementation -> implementation.getQualifiedName().contentEquals(registry))) {
+                return;
+            }
+        }
+
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                "The generated registry " + registry + " is not loaded from the module " + module.getQualifiedName() +
+                        " unless its module-info.java declares 'provides " + ObjectRegistry.class.getName() +
+                        " with " + registry + ";'.");
+    }
+
+    private String getDefaultRegistryName(Map<String, Entry> builders, Map<String, Entry> serializers) {
+        Set<String> names = new TreeSet<>(builders.keySet());
+        names.addAll(serializers.keySet());
+
+        String first = names.iterator().next();
+        Element element = builders.containsKey(first) ? builders.get(first).type : serializers.get(first).type;
+        String packageName = elements.getPackageOf(element).getQualifiedName().toString();
+
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String name : names) {
+                digest.update(name.getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+            }
+
+            StringBuilder hash = new StringBuilder();
+            byte[] bytes = digest.digest();
+            for (int i = 0; i < 4; i++) {
+                hash.append(String.format("%02x", bytes[i]));
+            }
+
+            return (packageName.isEmpty() ? "" : packageName + ".") + "XMLObjectsRegistry_" + hash;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Failed to compute the registry name.", e);
+        }
+    }
+
+    private void writeRegistry(PrintWriter writer, String packageName, String simpleName, Map<String, Entry> builders, Map<String, Entry> serializers) {
+        List<Entry> builderEntries = new ArrayList<>(builders.values());
+        List<Entry> serializerEntries = new ArrayList<>(serializers.values());
+
+        if (!packageName.isEmpty()) {
+            writer.println("package " + packageName + ";");
+            writer.println();
+        }
+
+        writer.println("// generated by " + RegistryProcessor.class.getName() + ", do not edit");
+        writer.println("public final class " + simpleName + " implements org.xmlobjects.registry.ObjectRegistry {");
+        writer.println();
+
+        writeEntries(writer, "Builder", builderEntries);
+        writer.println();
+        writeEntries(writer, "Serializer", serializerEntries);
+        writer.println();
+        writeFactory(writer, "Builder", "org.xmlobjects.builder.ObjectBuilder<?>", builderEntries);
+        writer.println();
+        writeFactory(writer, "Serializer", "org.xmlobjects.serializer.ObjectSerializer<?>", serializerEntries);
+        writer.println("}");
+    }
+
+    private void writeEntries(PrintWriter writer, String kind, List<Entry> entries) {
+        String entryType = "org.xmlobjects.registry." + kind + "Entry";
+        int chunks = (entries.size() + CHUNK_SIZE - 1) / CHUNK_SIZE;
+
+        writer.println("    @Override");
+        writer.println("    public java.util.List<" + entryType + "> get" + kind + "s() {");
+        writer.println("        java.util.List<" + entryType + "> entries = new java.util.ArrayList<>(" + entries.size() + ");");
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            writer.println("        add" + kind + "s" + chunk + "(entries);");
+        }
+
+        writer.println("        return entries;");
+        writer.println("    }");
+
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            writer.println();
+            writer.println("    private static void add" + kind + "s" + chunk + "(java.util.List<" + entryType + "> entries) {");
+            for (int i = chunk * CHUNK_SIZE; i < Math.min(entries.size(), (chunk + 1) * CHUNK_SIZE); i++) {
+                Entry entry = entries.get(i);
+                StringJoiner values = new StringJoiner(", ", "java.util.List.of(", ")");
+                for (XMLElement element : entry.xmlElements) {
+                    values.add(kind.equals("Builder") ?
+                            "new javax.xml.namespace.QName(" + literal(element.namespaceURI()) + ", " + literal(element.name()) + ")" :
+                            literal(element.namespaceURI()));
+                }
+
+                writer.println("        entries.add(new " + entryType + "(" +
+                        entry.type.getQualifiedName() + ".class, new " + kind + "Factory(" + i + "), " +
+                        entry.objectType + ".class, " + values + "));");
+            }
+
+            writer.println("    }");
+        }
+    }
+
+    private void writeFactory(PrintWriter writer, String kind, String type, List<Entry> entries) {
+        int chunks = (entries.size() + CHUNK_SIZE - 1) / CHUNK_SIZE;
+
+        writer.println("    private static final class " + kind + "Factory implements java.util.function.Supplier<" + type + "> {");
+        writer.println("        private final int id;");
+        writer.println();
+        writer.println("        " + kind + "Factory(int id) {");
+        writer.println("            this.id = id;");
+        writer.println("        }");
+        writer.println();
+        writer.println("        @Override");
+        writer.println("        public " + type + " get() {");
+        writer.println("            switch (id / " + CHUNK_SIZE + ") {");
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            writer.println("                case " + chunk + ": return create" + chunk + "();");
+        }
+
+        writer.println("                default: throw new IllegalStateException(\"Unknown " + kind.toLowerCase(Locale.ROOT) + " id \" + id + \".\");");
+        writer.println("            }");
+        writer.println("        }");
+
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            writer.println();
+            writer.println("        private " + type + " create" + chunk + "() {");
+            writer.println("            switch (id) {");
+            for (int i = chunk * CHUNK_SIZE; i < Math.min(entries.size(), (chunk + 1) * CHUNK_SIZE); i++) {
+                writer.println("                case " + i + ": return new " + entries.get(i).type.getQualifiedName() + "();");
+            }
+
+            writer.println("                default: throw new IllegalStateException(\"Unknown " + kind.toLowerCase(Locale.ROOT) + " id \" + id + \".\");");
+            writer.println("            }");
+            writer.println("        }");
+        }
+
+        writer.println("    }");
+    }
+
+    private void writeServiceFile() {
+        if (registries.isEmpty()) {
+            return;
+        }
+
+        try {
+            FileObject file = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "",
+                    REGISTRY_SERVICE, originatingElements.toArray(Element[]::new));
+            try (Writer writer = file.openWriter()) {
+                for (String registry : registries) {
+                    writer.write(registry);
+                    writer.write('\n');
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Failed to write " + REGISTRY_SERVICE + ": " + e.getMessage());
+        }
+    }
+
+    private void writeNativeImageConfig() {
+        if (reflectiveTypes.isEmpty()) {
+            return;
+        }
+
+        // the generated registries and the public default constructors of all builders and serializers
+        // must be available for reflection in GraalVM native images
+        String resource = NATIVE_IMAGE_CONFIG + (registries.isEmpty() ?
+                reflectiveTypes.iterator().next() :
+                registries.iterator().next()) + "/reflect-config.json";
+
+        try {
+            FileObject file = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "",
+                    resource, originatingElements.toArray(Element[]::new));
+            try (Writer writer = file.openWriter()) {
+                writer.write("[\n");
+                Iterator<String> iterator = reflectiveTypes.iterator();
+                while (iterator.hasNext()) {
+                    writer.write("  {\n");
+                    writer.write("    \"name\": " + literal(iterator.next()) + ",\n");
+                    writer.write("    \"methods\": [{\"name\": \"<init>\", \"parameterTypes\": []}]\n");
+                    writer.write(iterator.hasNext() ? "  },\n" : "  }\n");
+                }
+
+                writer.write("]\n");
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Failed to write " + resource + ": " + e.getMessage());
+        }
+    }
+
+    private String literal(String value) {
+        StringBuilder literal = new StringBuilder("\"");
+        for (int i = 0; i < value.length(); i++) {
+            char ch = value.charAt(i);
+            switch (ch) {
+                case '"':
+                    literal.append("\\\"");
+                    break;
+                case '\\':
+                    literal.append("\\\\");
+                    break;
+                default:
+                    if (ch < 0x20 || ch > 0x7e) {
+                        literal.append(String.format("\\u%04x", (int) ch));
+                    } else {
+                        literal.append(ch);
+                    }
+            }
+        }
+
+        return literal.append('"').toString();
+    }
+}
@@ -0,0 +1,23 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright Claus Nagel <claus.nagel@gmail.com>
+ */
+
+package org.xmlobjects.registry;
+
+import org.xmlobjects.serializer.ObjectSerializer;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+public record SerializerEntry(Class<?> serializerClass, Supplier<? extends ObjectSerializer<?>> factory,
+                              Class<?> objectType, List<String> namespaceURIs) {
+
+    public SerializerEntry {
+        Objects.requireNonNull(serializerClass, "The serializer class must not be null.");
+        Objects.requireNonNull(factory, "The serializer factory must not be null.");
+        Objects.requireNonNull(objectType, "The object type must not be null.");
+        Objects.requireNonNull(namespaceURIs, "The namespace URIs must not be null.");
+    }
+}
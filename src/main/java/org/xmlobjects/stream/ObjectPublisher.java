@@ -0,0 +1,125 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright Claus Nagel <claus.nagel@gmail.com>
+ */
+
+package org.xmlobjects.stream;
+
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+class ObjectPublisher<T> implements Flow.Publisher<T> {
+    private final Spliterator<T> source;
+    private final Executor executor;
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+
+    ObjectPublisher(Spliterator<T> source, Executor executor) {
+        this.source = source;
+        this.executor = Objects.requireNonNull(executor, "Executor must not be null.");
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super T> subscriber) {
+        Objects.requireNonNull(subscriber, "Subscriber must not be null.");
+        if (subscribed.compareAndSet(false, true)) {
+            subscriber.onSubscribe(new ObjectSubscription(subscriber));
+        } else {
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(long n) {
+                }
+
+                @Override
+                public void cancel() {
+                }
+            });
+            subscriber.onError(new IllegalStateException("The publisher only supports a single subscriber."));
+        }
+    }
+
+    private class ObjectSubscription implements Flow.Subscription, Runnable {
+        private final Flow.Subscriber<? super T> subscriber;
+        private final AtomicLong demand = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();
+        private volatile boolean cancelled;
+        private volatile Throwable error;
+        private volatile boolean done;
+
+        ObjectSubscription(Flow.Subscriber<? super T> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                error = new IllegalArgumentException("The number of requested objects must be positive.");
+            } else {
+                demand.getAndUpdate(current -> current + n < 0 ? Long.MAX_VALUE : current + n);
+            }
+
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+
+        private void drain() {
+            if (wip.getAndIncrement() == 0) {
+                try {
+                    executor.execute(this);
+                } catch (RejectedExecutionException e) {
+                    fail(e);
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            int missed = 1;
+            do {
+                long requested = demand.get();
+                long emitted = 0;
+
+                while (!done && !cancelled) {
+                    if (error != null) {
+                        fail(error);
+                    } else if (emitted == requested) {
+                        break;
+                    } else {
+                        try {
+                            if (source.tryAdvance(subscriber::onNext)) {
+                                emitted++;
+                            } else {
+                                done = true;
+                                subscriber.onComplete();
+                            }
+                        } catch (UncheckedReadException e) {
+                            fail(e.getCause());
+                        } catch (Throwable e) {
+                            fail(e);
+                        }
+                    }
+                }
+
+                if (emitted > 0 && requested != Long.MAX_VALUE) {
+                    demand.addAndGet(-emitted);
+                }
+
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void fail(Throwable e) {
+            done = true;
+            subscriber.onError(e);
+        }
+    }
+}
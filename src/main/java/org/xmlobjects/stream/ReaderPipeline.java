@@ -0,0 +1,210 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright Claus Nagel <claus.nagel@gmail.com>
+ */
+
+package org.xmlobjects.stream;
+
+import org.xmlobjects.builder.ObjectBuildException;
+import org.xmlobjects.util.Properties;
+
+import javax.xml.stream.XMLStreamConstants;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+public class ReaderPipeline<T> {
+    public static final int DEFAULT_BATCH_SIZE = 64;
+    public static final int DEFAULT_QUEUE_SIZE = 16;
+
+    private final Class<T> type;
+    private final boolean createDOMAsFallback;
+    private final Properties properties;
+    private ThreadFactory threadFactory;
+    private int batchSize = DEFAULT_BATCH_SIZE;
+    private int queueSize = DEFAULT_QUEUE_SIZE;
+
+    ReaderPipeline(Class<T> type, boolean createDOMAsFallback, Properties properties) {
+        this.type = Objects.requireNonNull(type, "Object type must not be null.");
+        this.createDOMAsFallback = createDOMAsFallback;
+        this.properties = new Properties(properties);
+        threadFactory = ReaderPipeline::newDaemonThread;
+    }
+
+    public ThreadFactory getThreadFactory() {
+        return threadFactory;
+    }
+
+    public ReaderPipeline<T> withThreadFactory(ThreadFactory threadFactory) {
+        this.threadFactory = Objects.requireNonNull(threadFactory, "Thread factory must not be null.");
+        return this;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public ReaderPipeline<T> withBatchSize(int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be greater than zero.");
+        }
+
+        this.batchSize = batchSize;
+        return this;
+    }
+
+    public int getQueueSize() {
+        return queueSize;
+    }
+
+    public ReaderPipeline<T> withQueueSize(int queueSize) {
+        if (queueSize <= 0) {
+            throw new IllegalArgumentException("Queue size must be greater than zero.");
+        }
+
+        this.queueSize = queueSize;
+        return this;
+    }
+
+    public void process(XMLReader reader, Consumer<? super T> consumer) throws ObjectBuildException, XMLReadException {
+        Objects.requireNonNull(reader, "XML reader must not be null.");
+        Objects.requireNonNull(consumer, "Consumer must not be null.");
+
+        if (reader.getStreamReader().getEventType() != XMLStreamConstants.START_ELEMENT) {
+            throw new XMLReadException("Illegal to process a pipeline when event is not START_ELEMENT.");
+        }
+
+        BlockingQueue<List<XMLReader>> buffers = new ArrayBlockingQueue<>(queueSize);
+        BlockingQueue<List<T>> objects = new ArrayBlockingQueue<>(queueSize);
+        List<XMLReader> endOfBuffers = new ArrayList<>();
+        List<T> endOfObjects = new ArrayList<>();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        // stage 1: split the content into buffered child elements
+        Thread parser = threadFactory.newThread(() -> {
+            try {
+                List<XMLReader> batch = new ArrayList<>(batchSize);
+                reader.splitChildElements(type, child -> {
+                    // child readers are configured like the readers created by the factory, except for the
+                    // schema handler because all schema locations have already been resolved by this stage
+                    child.createDOMAsFallback(createDOMAsFallback);
+                    child.setProperties(properties);
+                    batch.add(child);
+                    if (batch.size() == batchSize) {
+                        put(buffers, new ArrayList<>(batch));
+                        batch.clear();
+                    }
+                });
+
+                if (!batch.isEmpty()) {
+                    put(buffers, batch);
+                }
+            } catch (Throwable e) {
+                failure.compareAndSet(null, e);
+            } finally {
+                putQuietly(buffers, endOfBuffers);
+            }
+        });
+
+        // stage 2: build objects from the buffered child elements
+        Thread builder = threadFactory.newThread(() -> {
+            try {
+                List<XMLReader> batch;
+                while ((batch = buffers.take()) != endOfBuffers) {
+                    List<T> result = new ArrayList<>(batch.size());
+                    for (XMLReader child : batch) {
+                        T object = child.buildObject(type);
+                        if (object != null) {
+                            result.add(object);
+                        }
+                    }
+
+                    put(objects, result);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Throwable e) {
+                failure.compareAndSet(null, e);
+                parser.interrupt();
+            } finally {
+                putQuietly(objects, endOfObjects);
+            }
+        });
+
+        parser.start();
+        builder.start();
+
+        // stage 3: hand over objects to the consumer
+        try {
+            List<T> batch;
+            while ((batch = objects.take()) != endOfObjects) {
+                batch.forEach(consumer);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new XMLReadException("Interrupted while waiting for objects.", e);
+        } finally {
+            parser.interrupt();
+            builder.interrupt();
+            join(parser);
+            join(builder);
+        }
+
+        // the end markers are also queued after a failure, so the result is only complete without one
+        Throwable e = failure.get();
+        if (e instanceof ObjectBuildException exception) {
+            throw exception;
+        } else if (e instanceof XMLReadException exception) {
+            throw exception;
+        } else if (e instanceof Error error) {
+            throw error;
+        } else if (e != null) {
+            throw new XMLReadException("Failed to process pipeline.", e);
+        }
+    }
+
+    private <E> void put(BlockingQueue<E> queue, E item) throws XMLReadException {
+        try {
+            queue.put(item);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new XMLReadException("Interrupted while waiting for pipeline queue.", e);
+        }
+    }
+
+    private <E> void putQuietly(BlockingQueue<E> queue, E item) {
+        if (!Thread.currentThread().isInterrupted()) {
+            try {
+                queue.put(item);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void join(Thread thread) {
+        boolean interrupted = false;
+        while (thread.isAlive()) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Thread newDaemonThread(Runnable runnable) {
+        Thread thread = new Thread(runnable, "xml-objects-pipeline");
+        thread.setDaemon(true);
+        return thread;
+    }
+}
@@ -0,0 +1,26 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright Claus Nagel <claus.nagel@gmail.com>
+ */
+
+package org.xmlobjects.stream;
+
+final class ThreadConfinedPool<T> {
+    private final ThreadLocal<T> idle = new ThreadLocal<>();
+
+    T acquire() {
+        T object = idle.get();
+        if (object != null) {
+            idle.set(null);
+        }
+
+        return object;
+    }
+
+    void release(T object) {
+        // only a single idle instance is kept per thread
+        if (idle.get() == null) {
+            idle.set(object);
+        }
+    }
+}
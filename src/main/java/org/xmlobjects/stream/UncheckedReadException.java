@@ -0,0 +1,17 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright Claus Nagel <claus.nagel@gmail.com>
+ */
+
+package org.xmlobjects.stream;
+
+public class UncheckedReadException extends RuntimeException {
+
+    public UncheckedReadException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    public UncheckedReadException(Throwable cause) {
+        super(cause);
+    }
+}
@@ -6,9 +6,11 @@
 package org.xmlobjects.stream;
 
 import org.xml.sax.ContentHandler;
+import org.xml.sax.SAXException;
 import org.xml.sax.helpers.DefaultHandler;
 import org.xmlobjects.util.xml.NamespaceSupport;
 import org.xmlobjects.util.xml.SAXFilter;
+import org.xmlobjects.xml.Namespaces;
 
 import javax.xml.XMLConstants;
 import java.util.HashMap;
@@ -33,6 +35,28 @@ public abstract class XMLOutput<T extends XMLOutput<?>> extends SAXFilter implem
 
     public abstract void flush() throws Exception;
 
+    public void characters(CharSequence text, int start, int length) throws SAXException {
+        // outputs that can write strings directly should override this method to avoid the copy
+        char[] characters = new char[length];
+        if (text instanceof String string) {
+            string.getChars(start, start + length, characters, 0);
+        } else {
+            for (int i = 0; i < length; i++) {
+                characters[i] = text.charAt(start + i);
+            }
+        }
+
+        characters(characters, 0, length);
+    }
+
+    protected void reset() {
+        prefixMapping.reset();
+        schemaLocations.clear();
+        indent = null;
+        writeXMLDeclaration = true;
+        headerComment = null;
+    }
+
     NamespaceSupport getPrefixMapping() {
         return prefixMapping;
     }
@@ -51,6 +75,13 @@ public abstract class XMLOutput<T extends XMLOutput<?>> extends SAXFilter implem
         return self();
     }
 
+    void declareNamespaces(Namespaces namespaces) {
+        namespaces.get().stream()
+                .filter(namespaceURI -> !namespaceURI.isEmpty() && getPrefix(namespaceURI) == null)
+                .sorted()
+                .forEach(namespaceURI -> withPrefix(createPrefix(namespaceURI), namespaceURI));
+    }
+
     public String getNamespaceURI(String prefix) {
         return prefixMapping.getNamespaceURI(prefix);
     }
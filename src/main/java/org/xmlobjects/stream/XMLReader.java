@@ -14,12 +14,15 @@ import org.xmlobjects.builder.ObjectBuilder;
 import org.xmlobjects.schema.SchemaHandler;
 import org.xmlobjects.util.Properties;
 import org.xmlobjects.util.xml.DepthXMLStreamReader;
+import org.xmlobjects.util.xml.SAXBuffer;
 import org.xmlobjects.util.xml.SAXWriter;
 import org.xmlobjects.util.xml.StAXStream2SAX;
 import org.xmlobjects.xml.Attributes;
 import org.xmlobjects.xml.Namespaces;
 import org.xmlobjects.xml.TextContent;
 
+import javax.xml.XMLConstants;
+import javax.xml.namespace.NamespaceContext;
 import javax.xml.namespace.QName;
 import javax.xml.stream.XMLStreamConstants;
 import javax.xml.stream.XMLStreamException;
@@ -33,11 +36,21 @@ import javax.xml.transform.stax.StAXSource;
 import java.io.IOException;
 import java.io.StringWriter;
 import java.net.URI;
-import java.util.IdentityHashMap;
-import java.util.Map;
-import java.util.Objects;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class XMLReader implements AutoCloseable {
+    private static final int MAX_PENDING_OBJECTS = Runtime.getRuntime().availableProcessors() * 4;
+    private static final int DEFAULT_TEXT_BUFFER_SIZE = 256;
+    private static final int MAX_TEXT_BUFFER_SIZE = 65536;
+
     private final XMLObjects xmlObjects;
     private final DepthXMLStreamReader reader;
 
@@ -48,6 +61,9 @@ public class XMLReader implements AutoCloseable {
     private boolean createDOMAsFallback;
     private Properties properties;
     private Transformer transformer;
+    private char[] textBuffer;
+    private ThreadConfinedPool<XMLReader> pool;
+    private boolean closed;
 
     XMLReader(XMLObjects xmlObjects, XMLStreamReader reader, URI baseURI) {
         this.xmlObjects = Objects.requireNonNull(xmlObjects, "XML objects must not be null.");
@@ -103,20 +119,49 @@ public class XMLReader implements AutoCloseable {
     }
 
     void setProperties(Properties properties) {
-        this.properties = new Properties(properties);
+        if (this.properties != null) {
+            this.properties.clear();
+            this.properties.setAll(properties);
+        } else {
+            this.properties = new Properties(properties);
+        }
+    }
+
+    void setPool(ThreadConfinedPool<XMLReader> pool) {
+        this.pool = pool;
+    }
+
+    void reset(XMLStreamReader reader, URI baseURI) {
+        // the builder cache, the text buffer and the DOM transformer are kept for the next document
+        this.reader.reset(reader, baseURI);
+        parent = null;
+        attributes = null;
+        attributesState = -1;
+        closed = false;
     }
 
     @Override
     public void close() throws XMLReadException {
+        if (closed) {
+            return;
+        }
+
+        // a closed reader is only released to the pool once
+        closed = true;
         try {
             reader.close();
         } catch (XMLStreamException e) {
             throw new XMLReadException("Caused by:", e);
         } finally {
-            builderCache.clear();
             parent = null;
             attributes = null;
             attributesState = -1;
+            if (pool != null) {
+                pool.release(this);
+            } else {
+                builderCache.clear();
+                textBuffer = null;
+            }
         }
     }
 
@@ -150,6 +195,21 @@ public class XMLReader implements AutoCloseable {
         }
     }
 
+    public void skipElement() throws XMLReadException {
+        if (reader.getEventType() != XMLStreamConstants.START_ELEMENT) {
+            throw new XMLReadException("Illegal to call skipElement when event is not START_ELEMENT.");
+        }
+
+        try {
+            int stopAt = reader.getDepth() - 1;
+            while (reader.next() != XMLStreamConstants.END_ELEMENT || reader.getDepth() > stopAt) {
+                // skip content
+            }
+        } catch (XMLStreamException e) {
+            throw new XMLReadException("Caused by:", e);
+        }
+    }
+
     public QName getName() throws XMLReadException {
         if (reader.getEventType() != XMLStreamConstants.START_ELEMENT
                 && reader.getEventType() != XMLStreamConstants.END_ELEMENT) {
@@ -280,6 +340,143 @@ public class XMLReader implements AutoCloseable {
         }
     }
 
+    public <T> void readChildObjects(Class<T> type, Executor executor, Consumer<? super T> consumer) throws ObjectBuildException, XMLReadException {
+        Objects.requireNonNull(type, "Object type must not be null.");
+        Objects.requireNonNull(executor, "Executor must not be null.");
+        Objects.requireNonNull(consumer, "Consumer must not be null.");
+
+        if (reader.getEventType() != XMLStreamConstants.START_ELEMENT) {
+            throw new XMLReadException("Illegal to call readChildObjects when event is not START_ELEMENT.");
+        }
+
+        Deque<Future<T>> pending = new ArrayDeque<>();
+        try {
+            splitChildElements(type, child -> {
+                FutureTask<T> task = new FutureTask<>(() -> child.buildObject(type));
+                pending.add(task);
+                executor.execute(task);
+
+                while (!pending.isEmpty() && (pending.size() > MAX_PENDING_OBJECTS || pending.peek().isDone())) {
+                    acceptChildObject(pending.poll(), consumer);
+                }
+            });
+
+            while (!pending.isEmpty()) {
+                acceptChildObject(pending.poll(), consumer);
+            }
+        } finally {
+            pending.forEach(future -> future.cancel(true));
+        }
+    }
+
+    void splitChildElements(Class<?> type, ChildReaderHandler handler) throws ObjectBuildException, XMLReadException {
+        Map<String, String> prefixes = getInScopePrefixes();
+        try {
+            int stopAt = reader.getDepth() - 1;
+            int childLevel = reader.getDepth() + 1;
+
+            while (reader.hasNext()) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT && reader.getDepth() == childLevel) {
+                    if (xmlObjects.getBuilder(reader.getName(), type) != null) {
+                        // hand over a buffered copy of the child element
+                        handler.handle(createChildReader(bufferElement(prefixes)));
+                    } else {
+                        skipElement();
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT && reader.getDepth() == stopAt) {
+                    break;
+                }
+            }
+        } catch (XMLStreamException | SAXException e) {
+            throw new XMLReadException("Caused by:", e);
+        }
+    }
+
+    public <T> Stream<T> stream(Class<T> type, QName... names) {
+        Objects.requireNonNull(type, "Object type must not be null.");
+        return StreamSupport.stream(new ObjectSpliterator<>(type, names), false);
+    }
+
+    public <T> Flow.Publisher<T> publisher(Class<T> type, Executor executor, QName... names) {
+        Objects.requireNonNull(type, "Object type must not be null.");
+        return new ObjectPublisher<>(new ObjectSpliterator<>(type, names), executor);
+    }
+
+    private Map<String, String> getInScopePrefixes() {
+        Set<String> namespaceURIs = new LinkedHashSet<>(reader.getNamespaces().get());
+        for (int i = 0; i < reader.getNamespaceCount(); i++) {
+            namespaceURIs.add(reader.getNamespaceURI(i));
+        }
+
+        // a namespace context cannot be enumerated, so the prefixes of all namespaces
+        // declared so far are looked up and only kept if they are still in scope
+        Map<String, String> prefixes = new LinkedHashMap<>();
+        NamespaceContext context = reader.getNamespaceContext();
+        for (String namespaceURI : namespaceURIs) {
+            if (namespaceURI != null && !namespaceURI.isEmpty()) {
+                for (Iterator<String> iterator = context.getPrefixes(namespaceURI); iterator.hasNext(); ) {
+                    String prefix = iterator.next();
+                    if (namespaceURI.equals(context.getNamespaceURI(prefix))) {
+                        prefixes.put(prefix, namespaceURI);
+                    }
+                }
+            }
+        }
+
+        return prefixes;
+    }
+
+    private SAXBuffer bufferElement(Map<String, String> prefixes) throws XMLStreamException, SAXException {
+        SAXBuffer buffer = new SAXBuffer().useAsFragment(true);
+        prefixes.forEach(buffer::addNamespacePrefixMapping);
+
+        StAXStream2SAX mapper = new StAXStream2SAX(buffer);
+        int stopAt = reader.getDepth() - 1;
+
+        do {
+            mapper.bridgeEvent(reader);
+        } while (reader.next() != XMLStreamConstants.END_ELEMENT || reader.getDepth() > stopAt);
+
+        mapper.bridgeEvent(reader);
+        return buffer;
+    }
+
+    private XMLReader createChildReader(SAXBuffer buffer) {
+        // schema locations of the buffered element have already been resolved while buffering, and
+        // the schema handler is not shared because child readers may run on other threads
+        XMLReader child = new XMLReader(xmlObjects, buffer.toXMLStreamReader(true), getBaseURI());
+        child.createDOMAsFallback(createDOMAsFallback);
+        child.setProperties(getProperties());
+        return child;
+    }
+
+    <T> T buildObject(Class<T> type) throws ObjectBuildException, XMLReadException {
+        try (this) {
+            return nextTag() == EventType.START_ELEMENT ? getObject(type) : null;
+        }
+    }
+
+    private <T> void acceptChildObject(Future<T> future, Consumer<? super T> consumer) throws ObjectBuildException, XMLReadException {
+        try {
+            T object = future.get();
+            if (object != null) {
+                consumer.accept(object);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new XMLReadException("Interrupted while waiting for child objects.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof ObjectBuildException cause) {
+                throw cause;
+            } else if (e.getCause() instanceof XMLReadException cause) {
+                throw cause;
+            } else {
+                throw new XMLReadException("Failed to build child object.", e.getCause());
+            }
+        }
+    }
+
     public Element getDOMElement() throws XMLReadException {
         if (reader.getEventType() != XMLStreamConstants.START_ELEMENT) {
             throw new XMLReadException("Illegal to call getDOMElement when event is not START_ELEMENT.");
@@ -337,17 +534,9 @@ public class XMLReader implements AutoCloseable {
             return attributes;
         }
 
-        int count = reader.getAttributeCount();
-        if (count == 0) {
-            attributes = Attributes.empty();
-        } else {
-            attributes = new Attributes();
-            for (int i = 0; i < count; i++) {
-                attributes.add(reader.getAttributeNamespace(i),
-                        reader.getAttributeLocalName(i),
-                        reader.getAttributeValue(i));
-            }
-        }
+        attributes = reader.getAttributeCount() == 0 ?
+                Attributes.empty() :
+                Attributes.of(reader);
 
         attributesState = state;
         return attributes;
@@ -359,27 +548,68 @@ public class XMLReader implements AutoCloseable {
         }
 
         try {
-            StringBuilder result = new StringBuilder();
+            int length = 0;
             while (reader.hasNext()) {
                 int eventType = reader.next();
                 switch (eventType) {
                     case XMLStreamReader.CHARACTERS:
                     case XMLStreamReader.CDATA:
                     case XMLStreamReader.SPACE:
-                        result.append(reader.getText());
+                        length = appendText(length);
                         break;
                     case XMLStreamConstants.START_ELEMENT:
                     case XMLStreamReader.END_ELEMENT:
-                        return TextContent.of(result.toString());
+                        return createTextContent(length);
                 }
             }
 
-            return TextContent.of(result.toString());
+            return createTextContent(length);
         } catch (XMLStreamException e) {
             throw new XMLReadException("Caused by:", e);
         }
     }
 
+    private int appendText(int offset) throws XMLStreamException {
+        int length = reader.getTextLength();
+        if (length > 0) {
+            if (textBuffer == null || textBuffer.length - offset < length) {
+                int capacity = Math.max(offset + length, textBuffer != null ?
+                        textBuffer.length * 2 :
+                        DEFAULT_TEXT_BUFFER_SIZE);
+                textBuffer = textBuffer != null ?
+                        Arrays.copyOf(textBuffer, capacity) :
+                        new char[capacity];
+            }
+
+            int copied = 0;
+            while (copied < length) {
+                int count = reader.getTextCharacters(copied, textBuffer, offset + copied, length - copied);
+                if (count <= 0) {
+                    break;
+                }
+
+                copied += count;
+            }
+
+            return offset + copied;
+        }
+
+        return offset;
+    }
+
+    private TextContent createTextContent(int length) {
+        if (length == 0) {
+            return TextContent.of("");
+        }
+
+        TextContent content = TextContent.of(textBuffer, 0, length);
+        if (textBuffer.length > MAX_TEXT_BUFFER_SIZE) {
+            textBuffer = null;
+        }
+
+        return content;
+    }
+
     public String getMixedContent() throws XMLReadException {
         if (reader.getEventType() != XMLStreamConstants.START_ELEMENT) {
             throw new XMLReadException("Illegal to call getMixedContent when event is not START_ELEMENT.");
@@ -416,4 +646,160 @@ public class XMLReader implements AutoCloseable {
             }
         }
     }
+
+    @FunctionalInterface
+    interface ChildReaderHandler {
+        void handle(XMLReader child) throws ObjectBuildException, XMLReadException;
+    }
+
+    private class ObjectSpliterator<T> implements Spliterator<T> {
+        private static final int BATCH_UNIT = 16;
+        private static final int MAX_BATCH = 1024;
+
+        private final Class<T> type;
+        private final Set<QName> names;
+        private final int stopAt;
+        private boolean started;
+        private boolean finished;
+        private boolean scopeChanged;
+        private int batch;
+
+        ObjectSpliterator(Class<T> type, QName... names) {
+            this.type = type;
+            this.names = names != null && names.length > 0 ? new HashSet<>(Arrays.asList(names)) : null;
+            stopAt = reader.getDepth() - 1;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            try {
+                while (nextCandidate()) {
+                    T object = getObject(type);
+                    if (object != null) {
+                        action.accept(object);
+                        return true;
+                    }
+                }
+
+                return false;
+            } catch (ObjectBuildException | XMLReadException e) {
+                throw new UncheckedReadException("Failed to read object from stream.", e);
+            }
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            try {
+                batch = Math.min(batch + BATCH_UNIT, MAX_BATCH);
+                List<XMLReader> children = new ArrayList<>(batch);
+                Map<String, String> prefixes = null;
+                while (children.size() < batch && nextCandidate()) {
+                    if (xmlObjects.getBuilder(reader.getName(), type) != null) {
+                        // the in-scope prefixes are only looked up again if namespace declarations may have changed
+                        if (prefixes == null || scopeChanged) {
+                            prefixes = getInScopePrefixes();
+                            scopeChanged = false;
+                        }
+
+                        if (reader.getNamespaceCount() > 0) {
+                            scopeChanged = true;
+                        }
+
+                        children.add(createChildReader(bufferElement(prefixes)));
+                    }
+                }
+
+                return !children.isEmpty() ? new BufferedSpliterator<>(type, children) : null;
+            } catch (XMLReadException | XMLStreamException | SAXException e) {
+                throw new UncheckedReadException("Failed to read object from stream.", e);
+            }
+        }
+
+        private boolean nextCandidate() throws XMLReadException {
+            if (!started) {
+                started = true;
+                if (reader.getEventType() == XMLStreamConstants.START_ELEMENT && isCandidate()) {
+                    return true;
+                }
+            }
+
+            while (!finished) {
+                // the stream ends with the element it was opened on
+                if (reader.getEventType() == XMLStreamConstants.END_ELEMENT && reader.getDepth() <= stopAt) {
+                    finished = true;
+                } else if (hasNext() && nextTag() != EventType.END_DOCUMENT) {
+                    if (reader.getEventType() == XMLStreamConstants.END_ELEMENT || reader.getNamespaceCount() > 0) {
+                        scopeChanged = true;
+                    }
+
+                    if (reader.getEventType() == XMLStreamConstants.START_ELEMENT && isCandidate()) {
+                        return true;
+                    }
+                } else {
+                    finished = true;
+                }
+            }
+
+            return false;
+        }
+
+        private boolean isCandidate() {
+            return names == null || names.contains(reader.getName());
+        }
+
+        @Override
+        public long estimateSize() {
+            return finished ? 0 : Long.MAX_VALUE;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | NONNULL;
+        }
+    }
+
+    private static class BufferedSpliterator<T> implements Spliterator<T> {
+        private final Class<T> type;
+        private final Iterator<XMLReader> children;
+        private int size;
+
+        BufferedSpliterator(Class<T> type, List<XMLReader> children) {
+            this.type = type;
+            this.children = children.iterator();
+            size = children.size();
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            try {
+                while (children.hasNext()) {
+                    size--;
+                    T object = children.next().buildObject(type);
+                    if (object != null) {
+                        action.accept(object);
+                        return true;
+                    }
+                }
+
+                return false;
+            } catch (ObjectBuildException | XMLReadException e) {
+                throw new UncheckedReadException("Failed to read object from stream.", e);
+            }
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            return null;
+        }
+
+        @Override
+        public long estimateSize() {
+            return size;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | NONNULL;
+        }
+    }
 }
@@ -26,6 +26,7 @@ public class XMLReaderFactory {
 
     private SchemaHandler schemaHandler;
     private boolean createDOMAsFallback;
+    private ThreadConfinedPool<XMLReader> pool;
 
     private XMLReaderFactory(XMLObjects xmlObjects, XMLInputFactory xmlInputFactory) {
         this.xmlObjects = Objects.requireNonNull(xmlObjects, "XML objects must not be null.");
@@ -67,6 +68,15 @@ public class XMLReaderFactory {
         return this;
     }
 
+    public boolean isPooling() {
+        return pool != null;
+    }
+
+    public XMLReaderFactory withPooling(boolean pooling) {
+        pool = pooling ? new ThreadConfinedPool<>() : null;
+        return this;
+    }
+
     public XMLReporter getXMLReporter() {
         return xmlInputFactory.getXMLReporter();
     }
@@ -191,13 +201,24 @@ public class XMLReaderFactory {
     }
 
     public XMLReader createReader(XMLStreamReader reader, URI baseURI) {
-        XMLReader xmlReader = new XMLReader(xmlObjects, reader, baseURI);
+        XMLReader xmlReader = pool != null ? pool.acquire() : null;
+        if (xmlReader != null) {
+            xmlReader.reset(reader, baseURI);
+        } else {
+            xmlReader = new XMLReader(xmlObjects, reader, baseURI);
+            xmlReader.setPool(pool);
+        }
+
         xmlReader.setSchemaHandler(schemaHandler);
         xmlReader.createDOMAsFallback(createDOMAsFallback);
         xmlReader.setProperties(properties);
         return xmlReader;
     }
 
+    public <T> ReaderPipeline<T> createPipeline(Class<T> type) {
+        return new ReaderPipeline<>(type, createDOMAsFallback, properties);
+    }
+
     public XMLReader createFilteredReader(XMLReader reader, StreamFilter filter) throws XMLReadException {
         try {
             return createReader(xmlInputFactory.createFilteredReader(reader.getStreamReader(), filter),
@@ -13,6 +13,7 @@ import org.xmlobjects.XMLObjects;
 import org.xmlobjects.serializer.ObjectSerializeException;
 import org.xmlobjects.serializer.ObjectSerializer;
 import org.xmlobjects.util.Properties;
+import org.xmlobjects.util.xml.NamespaceSupport;
 import org.xmlobjects.util.xml.SAXBuffer;
 import org.xmlobjects.util.xml.SAXFilter;
 import org.xmlobjects.xml.*;
@@ -32,6 +33,7 @@ import java.io.IOException;
 import java.io.StringReader;
 import java.util.ArrayDeque;
 import java.util.Deque;
+import java.util.HashMap;
 import java.util.IdentityHashMap;
 import java.util.Map;
 
@@ -40,12 +42,17 @@ public class XMLWriter implements AutoCloseable {
     private final XMLOutput<?> output;
     private final Map<Class<?>, ObjectSerializer<?>> serializerCache = new IdentityHashMap<>();
     private final Deque<QName> elements = new ArrayDeque<>();
+    private final AttributesImpl attributeBuffer = new AttributesImpl();
+    private final Map<String, PrefixedNames> prefixedNames = new HashMap<>();
 
     private Properties properties;
+    private Namespaces hoistedNamespaces;
     private Transformer transformer;
     private SAXParser parser;
     private boolean prologWritten;
     private EventType lastEvent;
+    private ThreadConfinedPool<XMLWriter> pool;
+    private boolean closed;
 
     XMLWriter(XMLObjects xmlObjects, XMLOutput<?> output) {
         this.xmlObjects = xmlObjects;
@@ -53,6 +60,12 @@ public class XMLWriter implements AutoCloseable {
         output.getPrefixMapping().createInternalPrefixes(xmlObjects);
     }
 
+    XMLWriter(XMLObjects xmlObjects, XMLOutput<?> output, NamespaceSupport prefixMapping) {
+        this.xmlObjects = xmlObjects;
+        this.output = output;
+        output.getPrefixMapping().copyFrom(prefixMapping);
+    }
+
     public XMLObjects getXMLObjects() {
         return xmlObjects;
     }
@@ -65,7 +78,29 @@ public class XMLWriter implements AutoCloseable {
     }
 
     void setProperties(Properties properties) {
-        this.properties = new Properties(properties);
+        if (this.properties != null) {
+            this.properties.clear();
+            this.properties.setAll(properties);
+        } else {
+            this.properties = new Properties(properties);
+        }
+    }
+
+    XMLOutput<?> getOutput() {
+        return output;
+    }
+
+    void setPool(ThreadConfinedPool<XMLWriter> pool) {
+        this.pool = pool;
+    }
+
+    void reset() {
+        // the serializer cache, the DOM transformer and the SAX parser are kept for the next document
+        elements.clear();
+        hoistedNamespaces = null;
+        prologWritten = false;
+        lastEvent = null;
+        closed = false;
     }
 
     public void flush() throws XMLWriteException {
@@ -78,6 +113,12 @@ public class XMLWriter implements AutoCloseable {
 
     @Override
     public void close() throws XMLWriteException {
+        if (closed) {
+            return;
+        }
+
+        // a closed writer is only released to the pool once
+        closed = true;
         try {
             if (lastEvent != EventType.END_DOCUMENT) {
                 finishDocument(prologWritten);
@@ -87,7 +128,11 @@ public class XMLWriter implements AutoCloseable {
         } catch (Exception e) {
             throw new XMLWriteException("Caused by:", e);
         } finally {
-            serializerCache.clear();
+            if (pool != null) {
+                pool.release(this);
+            } else {
+                serializerCache.clear();
+            }
         }
     }
 
@@ -145,6 +190,15 @@ public class XMLWriter implements AutoCloseable {
         return this;
     }
 
+    public Namespaces getHoistedNamespaces() {
+        return hoistedNamespaces;
+    }
+
+    public XMLWriter withHoistedNamespaces(Namespaces namespaces) {
+        hoistedNamespaces = namespaces;
+        return this;
+    }
+
     public void writeStartDocument() throws XMLWriteException {
         try {
             output.startDocument();
@@ -243,7 +297,14 @@ public class XMLWriter implements AutoCloseable {
 
     private void writeStartElement(QName name, Attributes attributes) throws XMLWriteException {
         try {
-            AttributesImpl attrs = new AttributesImpl();
+            if (elements.isEmpty() && hoistedNamespaces != null) {
+                // namespaces are declared on the root element so that nested elements never have to declare them again
+                output.declareNamespaces(hoistedNamespaces);
+            }
+
+            // the attributes are only valid during the startElement callback and can therefore be reused
+            AttributesImpl attrs = attributeBuffer;
+            attrs.clear();
             if (attributes != null && !attributes.isEmpty()) {
                 for (Map.Entry<String, Map<String, TextContent>> entry : attributes.get().entrySet()) {
                     for (Map.Entry<String, TextContent> attribute : entry.getValue().entrySet()) {
@@ -276,7 +337,13 @@ public class XMLWriter implements AutoCloseable {
                 output.startPrefixMapping(prefix, namespaceURI);
             }
 
-            return prefix + ":" + localName;
+            PrefixedNames names = prefixedNames.get(namespaceURI);
+            if (names == null || !names.prefix.equals(prefix)) {
+                names = new PrefixedNames(prefix);
+                prefixedNames.put(namespaceURI, names);
+            }
+
+            return names.getQName(localName);
         } else {
             return localName;
         }
@@ -300,8 +367,7 @@ public class XMLWriter implements AutoCloseable {
 
     public void writeCharacters(String text, int start, int length) throws XMLWriteException {
         try {
-            char[] characters = text.toCharArray();
-            output.characters(characters, start, length);
+            output.characters(text, start, length);
         } catch (SAXException e) {
             throw new XMLWriteException("Caused by:", e);
         }
@@ -412,6 +478,28 @@ public class XMLWriter implements AutoCloseable {
         };
     }
 
+    private static class PrefixedNames {
+        private static final int MAX_SIZE = 1024;
+        private final String prefix;
+        private final Map<String, String> qNames = new HashMap<>();
+
+        PrefixedNames(String prefix) {
+            this.prefix = prefix;
+        }
+
+        String getQName(String localName) {
+            String qName = qNames.get(localName);
+            if (qName == null) {
+                qName = prefix + ":" + localName;
+                if (qNames.size() < MAX_SIZE) {
+                    qNames.put(localName, qName);
+                }
+            }
+
+            return qName;
+        }
+    }
+
     private static class DOMHandler extends SAXFilter {
 
         DOMHandler(ContentHandler parent) {
@@ -17,6 +17,7 @@ import javax.xml.transform.sax.SAXTransformerFactory;
 import javax.xml.transform.sax.TransformerHandler;
 import javax.xml.transform.stream.StreamResult;
 import java.io.*;
+import java.nio.channels.WritableByteChannel;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -27,6 +28,7 @@ public class XMLWriterFactory {
     private final Properties properties = new Properties();
 
     private SAXTransformerFactory transformerFactory;
+    private ThreadConfinedPool<XMLWriter> pool;
 
     private XMLWriterFactory(XMLObjects xmlObjects) {
         this.xmlObjects = Objects.requireNonNull(xmlObjects, "XML objects must not be null.");
@@ -45,15 +47,23 @@ public class XMLWriterFactory {
         return this;
     }
 
+    public boolean isPooling() {
+        return pool != null;
+    }
+
+    public XMLWriterFactory withPooling(boolean pooling) {
+        pool = pooling ? new ThreadConfinedPool<>() : null;
+        return this;
+    }
+
     public XMLWriter createWriter(File file) throws XMLWriteException {
         return createWriter(file, StandardCharsets.UTF_8.name());
     }
 
     public XMLWriter createWriter(File file, String encoding) throws XMLWriteException {
         try {
-            return createWriter(new SAXWriter(new OutputStreamWriter(
-                    new FileOutputStream(file), getEncoding(encoding))));
-        } catch (UnsupportedEncodingException | FileNotFoundException e) {
+            return createWriter(new FileOutputStream(file), encoding);
+        } catch (IOException e) {
             throw new XMLWriteException("Caused by:", e);
         }
     }
@@ -64,8 +74,7 @@ public class XMLWriterFactory {
 
     public XMLWriter createWriter(Path path, String encoding) throws XMLWriteException {
         try {
-            return createWriter(new SAXWriter(
-                    new OutputStreamWriter(Files.newOutputStream(path), getEncoding(encoding))));
+            return createWriter(Files.newOutputStream(path), encoding);
         } catch (IOException e) {
             throw new XMLWriteException("Caused by:", e);
         }
@@ -104,14 +113,44 @@ public class XMLWriterFactory {
 
     public XMLWriter createWriter(OutputStream stream, String encoding) throws XMLWriteException {
         try {
-            return createWriter(new SAXWriter(stream, getEncoding(encoding)));
+            XMLWriter writer = getPooledWriter();
+            if (writer != null) {
+                ((PooledSAXWriter) writer.getOutput()).reset(stream, getEncoding(encoding));
+                return writer;
+            }
+
+            return createPooledWriter(new PooledSAXWriter(stream, getEncoding(encoding)));
+        } catch (IOException e) {
+            throw new XMLWriteException("Caused by:", e);
+        }
+    }
+
+    public XMLWriter createWriter(WritableByteChannel channel) throws XMLWriteException {
+        return createWriter(channel, StandardCharsets.UTF_8.name());
+    }
+
+    public XMLWriter createWriter(WritableByteChannel channel, String encoding) throws XMLWriteException {
+        try {
+            XMLWriter writer = getPooledWriter();
+            if (writer != null) {
+                ((PooledSAXWriter) writer.getOutput()).reset(channel, getEncoding(encoding));
+                return writer;
+            }
+
+            return createPooledWriter(new PooledSAXWriter(channel, getEncoding(encoding)));
         } catch (IOException e) {
             throw new XMLWriteException("Caused by:", e);
         }
     }
 
     public XMLWriter createWriter(Writer writer) {
-        return createWriter(new SAXWriter(writer));
+        XMLWriter xmlWriter = getPooledWriter();
+        if (xmlWriter != null) {
+            ((PooledSAXWriter) xmlWriter.getOutput()).reset(writer);
+            return xmlWriter;
+        }
+
+        return createPooledWriter(new PooledSAXWriter(writer));
     }
 
     public XMLWriter createWriter(SAXWriter saxWriter) {
@@ -126,7 +165,62 @@ public class XMLWriterFactory {
         return xmlWriter;
     }
 
+    public XMLWriterTemplate createTemplate() {
+        return createTemplate(StandardCharsets.UTF_8.name());
+    }
+
+    public XMLWriterTemplate createTemplate(String encoding) {
+        return new XMLWriterTemplate(xmlObjects, properties, getEncoding(encoding));
+    }
+
+    private XMLWriter getPooledWriter() {
+        XMLWriter writer = pool != null ? pool.acquire() : null;
+        if (writer != null) {
+            writer.reset();
+            writer.setProperties(properties);
+        }
+
+        return writer;
+    }
+
+    private XMLWriter createPooledWriter(PooledSAXWriter saxWriter) {
+        // only writers whose SAXWriter is owned by this factory can be reused
+        XMLWriter xmlWriter = createWriter(saxWriter);
+        xmlWriter.setPool(pool);
+        return xmlWriter;
+    }
+
     private String getEncoding(String encoding) {
         return encoding != null ? encoding : StandardCharsets.UTF_8.name();
     }
+
+    private static class PooledSAXWriter extends SAXWriter {
+
+        PooledSAXWriter(OutputStream outputStream, String encoding) throws IOException {
+            super(outputStream, encoding);
+        }
+
+        PooledSAXWriter(WritableByteChannel channel, String encoding) throws IOException {
+            super(channel, encoding);
+        }
+
+        PooledSAXWriter(Writer writer) {
+            super(writer);
+        }
+
+        @Override
+        protected void reset(OutputStream outputStream, String encoding) throws IOException {
+            super.reset(outputStream, encoding);
+        }
+
+        @Override
+        protected void reset(WritableByteChannel channel, String encoding) throws IOException {
+            super.reset(channel, encoding);
+        }
+
+        @Override
+        protected void reset(Writer writer) {
+            super.reset(writer);
+        }
+    }
 }
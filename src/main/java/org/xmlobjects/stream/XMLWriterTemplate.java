@@ -0,0 +1,243 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright Claus Nagel <claus.nagel@gmail.com>
+ */
+
+package org.xmlobjects.stream;
+
+import org.xml.sax.helpers.AttributesImpl;
+import org.xmlobjects.XMLObjects;
+import org.xmlobjects.util.Properties;
+import org.xmlobjects.util.xml.NamespaceSupport;
+import org.xmlobjects.util.xml.SAXWriter;
+import org.xmlobjects.xml.Namespaces;
+
+import java.io.*;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+public class XMLWriterTemplate {
+    private static final String ROOT_ELEMENT = "root";
+
+    private final XMLObjects xmlObjects;
+    private final Properties properties;
+    private final String encoding;
+    private final XMLOutput<?> prototype;
+    private final Map<String, String> schemaLocations = new HashMap<>();
+
+    private Namespaces hoistedNamespaces;
+    private volatile Rendering rendering;
+
+    XMLWriterTemplate(XMLObjects xmlObjects, Properties properties, String encoding) {
+        this.xmlObjects = xmlObjects;
+        this.properties = properties;
+        this.encoding = Charset.forName(encoding).name();
+        prototype = new SAXWriter(Writer.nullWriter());
+        prototype.getPrefixMapping().createInternalPrefixes(xmlObjects);
+    }
+
+    public XMLObjects getXMLObjects() {
+        return xmlObjects;
+    }
+
+    public String getEncoding() {
+        return encoding;
+    }
+
+    public String getPrefix(String namespaceURI) {
+        return prototype.getPrefix(namespaceURI);
+    }
+
+    public XMLWriterTemplate withPrefix(String prefix, String namespaceURI) {
+        prototype.withPrefix(prefix, namespaceURI);
+        rendering = null;
+        return this;
+    }
+
+    public String getNamespaceURI(String prefix) {
+        return prototype.getNamespaceURI(prefix);
+    }
+
+    public XMLWriterTemplate withDefaultNamespace(String namespaceURI) {
+        prototype.withDefaultNamespace(namespaceURI);
+        rendering = null;
+        return this;
+    }
+
+    public String getIndent() {
+        return prototype.getIndent();
+    }
+
+    public XMLWriterTemplate withIndent(String indent) {
+        prototype.withIndent(indent);
+        rendering = null;
+        return this;
+    }
+
+    public boolean isWriteXMLDeclaration() {
+        return prototype.isWriteXMLDeclaration();
+    }
+
+    public XMLWriterTemplate writeXMLDeclaration(boolean writeXMLDeclaration) {
+        prototype.writeXMLDeclaration(writeXMLDeclaration);
+        rendering = null;
+        return this;
+    }
+
+    public String[] getHeaderComment() {
+        return prototype.getHeaderComment();
+    }
+
+    public XMLWriterTemplate withHeaderComment(String... headerComment) {
+        prototype.withHeaderComment(headerComment);
+        rendering = null;
+        return this;
+    }
+
+    public String getSchemaLocation(String namespaceURI) {
+        return prototype.getSchemaLocation(namespaceURI);
+    }
+
+    public XMLWriterTemplate withSchemaLocation(String namespaceURI, String schemaLocation) {
+        prototype.withSchemaLocation(namespaceURI, schemaLocation);
+        if (namespaceURI != null && schemaLocation != null) {
+            schemaLocations.put(namespaceURI, schemaLocation);
+        }
+
+        rendering = null;
+        return this;
+    }
+
+    public Namespaces getHoistedNamespaces() {
+        return hoistedNamespaces;
+    }
+
+    public XMLWriterTemplate withHoistedNamespaces(Namespaces namespaces) {
+        hoistedNamespaces = namespaces;
+        rendering = null;
+        return this;
+    }
+
+    public XMLWriter createWriter(OutputStream stream) throws XMLWriteException {
+        Objects.requireNonNull(stream, "The output stream must not be null.");
+        try {
+            Rendering rendering = getRendering();
+            return createWriter(new SAXWriter(stream, encoding), rendering, rendering.bytes());
+        } catch (IOException e) {
+            throw new XMLWriteException("Caused by:", e);
+        }
+    }
+
+    public XMLWriter createWriter(WritableByteChannel channel) throws XMLWriteException {
+        Objects.requireNonNull(channel, "The channel must not be null.");
+        try {
+            Rendering rendering = getRendering();
+            return createWriter(new SAXWriter(channel, encoding), rendering, rendering.bytes());
+        } catch (IOException e) {
+            throw new XMLWriteException("Caused by:", e);
+        }
+    }
+
+    public XMLWriter createWriter(Writer writer) throws XMLWriteException {
+        Objects.requireNonNull(writer, "The writer must not be null.");
+        Rendering rendering = getRendering();
+        SAXWriter output = new SAXWriter(writer);
+        if (writer instanceof OutputStreamWriter) {
+            // the encoding of an output stream writer is part of the XML declaration and is not pre-rendered
+            configure(output, true);
+            return createWriter(output, rendering.prefixMapping());
+        } else {
+            return createWriter(output, rendering, rendering.chars());
+        }
+    }
+
+    private XMLWriter createWriter(SAXWriter output, Rendering rendering, SAXWriter.PrerenderedOutput rendered) {
+        configure(output, true);
+        output.withPrerenderedOutput(rendered);
+        return createWriter(output, rendering.prefixMapping());
+    }
+
+    private XMLWriter createWriter(SAXWriter output, NamespaceSupport prefixMapping) {
+        XMLWriter writer = new XMLWriter(xmlObjects, output, prefixMapping);
+        writer.setProperties(properties);
+        writer.withHoistedNamespaces(hoistedNamespaces);
+        return writer;
+    }
+
+    private void configure(XMLOutput<?> output, boolean withSchemaLocations) {
+        output.withIndent(prototype.getIndent())
+                .writeXMLDeclaration(prototype.isWriteXMLDeclaration())
+                .withHeaderComment(prototype.getHeaderComment());
+
+        if (withSchemaLocations) {
+            schemaLocations.forEach(output::withSchemaLocation);
+        }
+    }
+
+    private Rendering getRendering() throws XMLWriteException {
+        Rendering rendering = this.rendering;
+        if (rendering == null) {
+            // concurrent callers may render the template twice, which yields the same result
+            this.rendering = rendering = render();
+        }
+
+        return rendering;
+    }
+
+    private Rendering render() throws XMLWriteException {
+        try {
+            NamespaceSupport prefixMapping = new NamespaceSupport();
+            prefixMapping.copyFrom(prototype.getPrefixMapping());
+            if (hoistedNamespaces != null) {
+                // hoisted namespaces are declared in advance so that they are part of the pre-rendered root element
+                XMLOutput<?> output = new SAXWriter(Writer.nullWriter());
+                output.getPrefixMapping().copyFrom(prefixMapping);
+                output.declareNamespaces(hoistedNamespaces);
+                prefixMapping.copyFrom(output.getPrefixMapping());
+            }
+
+            return new Rendering(prefixMapping,
+                    render(prefixMapping, encoding),
+                    render(prefixMapping, null));
+        } catch (Exception e) {
+            throw new XMLWriteException("Failed to render the XML writer template.", e);
+        }
+    }
+
+    private SAXWriter.PrerenderedOutput render(NamespaceSupport prefixMapping, String encoding) throws Exception {
+        String prolog = null, rootDeclarations = null, rootSchemaLocations = null;
+
+        // the schema locations follow the namespace declarations of the root element and are therefore
+        // rendered separately by comparing the output with and without them
+        for (boolean withSchemaLocations : new boolean[]{false, true}) {
+            ByteArrayOutputStream stream = new ByteArrayOutputStream();
+            StringWriter writer = new StringWriter();
+            XMLOutput<?> output = encoding != null ? new SAXWriter(stream, encoding) : new SAXWriter(writer);
+            configure(output, withSchemaLocations);
+            output.getPrefixMapping().copyFrom(prefixMapping);
+
+            output.startDocument();
+            output.startElement("", ROOT_ELEMENT, ROOT_ELEMENT, new AttributesImpl());
+            output.flush();
+
+            String content = encoding != null ? stream.toString(encoding) : writer.toString();
+            if (!withSchemaLocations) {
+                int index = content.lastIndexOf("<" + ROOT_ELEMENT);
+                prolog = content.substring(0, index);
+                rootDeclarations = content.substring(index + ROOT_ELEMENT.length() + 1);
+            } else {
+                rootSchemaLocations = content.substring(prolog.length() + ROOT_ELEMENT.length() + 1
+                        + rootDeclarations.length());
+            }
+        }
+
+        return new SAXWriter.PrerenderedOutput(prolog, rootDeclarations, rootSchemaLocations, prefixMapping);
+    }
+
+    private record Rendering(NamespaceSupport prefixMapping, SAXWriter.PrerenderedOutput bytes,
+                             SAXWriter.PrerenderedOutput chars) {
+    }
+}
@@ -64,6 +64,16 @@ public class Properties implements Serializable {
         properties.put(name, value);
     }
 
+    public void setAll(Properties other) {
+        if (other.properties != null && !other.properties.isEmpty()) {
+            if (properties == null) {
+                properties = new HashMap<>();
+            }
+
+            properties.putAll(other.properties);
+        }
+    }
+
     public void remove(String name) {
         if (properties != null) {
             properties.remove(name);
@@ -20,9 +20,12 @@ import java.net.URI;
 import java.util.Objects;
 
 public class DepthXMLStreamReader implements XMLStreamReader {
-    private final XMLStreamReader reader;
-    private final URI baseURI;
-    private final Namespaces namespaces;
+    private static final int NAME_CACHE_SIZE = 256;
+
+    private XMLStreamReader reader;
+    private URI baseURI;
+    private Namespaces namespaces;
+    private final QName[] names = new QName[NAME_CACHE_SIZE];
 
     private SchemaHandler schemaHandler;
     private int depth;
@@ -38,6 +41,14 @@ public class DepthXMLStreamReader implements XMLStreamReader {
         this(reader, URI.create(""));
     }
 
+    public void reset(XMLStreamReader reader, URI baseURI) {
+        this.reader = Objects.requireNonNull(reader, "XML stream reader must not be null.");
+        this.baseURI = Objects.requireNonNull(baseURI, "The base URI must not be null.");
+        namespaces = Namespaces.newInstance();
+        depth = 0;
+        state = 0;
+    }
+
     public XMLStreamReader getReader() {
         return reader;
     }
@@ -82,29 +93,7 @@ public class DepthXMLStreamReader implements XMLStreamReader {
             }
 
             if (schemaHandler != null) {
-                for (int i = 0; i < reader.getAttributeCount(); i++) {
-                    if (XMLConstants.W3C_XML_SCHEMA_INSTANCE_NS_URI.equals(reader.getAttributeNamespace(i))) {
-                        try {
-                            switch (reader.getAttributeLocalName(i)) {
-                                case "schemaLocation":
-                                    String[] schemaLocations = reader.getAttributeValue(i).split("\\s+");
-                                    if (schemaLocations.length % 2 == 0) {
-                                        for (int j = 0; j < schemaLocations.length; j += 2) {
-                                            URI schemaLocation = baseURI.resolve(schemaLocations[j + 1]
-                                                    .replaceAll("\\\\", "/"));
-                                            schemaHandler.parseSchema(schemaLocations[j], schemaLocation.toString());
-                                        }
-                                    }
-                                    break;
-                                case "noNamespaceSchemaLocation":
-                                    schemaHandler.parseSchema(XMLConstants.NULL_NS_URI, reader.getAttributeValue(i));
-                                    break;
-                            }
-                        } catch (SchemaHandlerException e) {
-                            throw new XMLStreamException("Caused by: ", e);
-                        }
-                    }
-                }
+                parseSchemaLocations();
             }
 
             depth++;
@@ -293,7 +282,28 @@ public class DepthXMLStreamReader implements XMLStreamReader {
 
     @Override
     public QName getName() {
-        return reader.getName();
+        int event = reader.getEventType();
+        if (event != START_ELEMENT && event != END_ELEMENT) {
+            return reader.getName();
+        }
+
+        // reuse a cached QName instance to avoid an allocation per element
+        String namespaceURI = ensureNonNull(reader.getNamespaceURI());
+        String localName = reader.getLocalName();
+        String prefix = ensureNonNull(reader.getPrefix());
+
+        int hash = 31 * localName.hashCode() + namespaceURI.hashCode();
+        int index = (hash ^ (hash >>> 16)) & (NAME_CACHE_SIZE - 1);
+
+        QName name = names[index];
+        if (name == null
+                || !matches(name.getLocalPart(), localName)
+                || !matches(name.getNamespaceURI(), namespaceURI)
+                || !matches(name.getPrefix(), prefix)) {
+            name = names[index] = new QName(namespaceURI, localName, prefix);
+        }
+
+        return name;
     }
 
     @Override
@@ -345,4 +355,38 @@ public class DepthXMLStreamReader implements XMLStreamReader {
     public String getPIData() {
         return reader.getPIData();
     }
+
+    private void parseSchemaLocations() throws XMLStreamException {
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            if (XMLConstants.W3C_XML_SCHEMA_INSTANCE_NS_URI.equals(reader.getAttributeNamespace(i))) {
+                try {
+                    switch (reader.getAttributeLocalName(i)) {
+                        case "schemaLocation":
+                            String[] schemaLocations = reader.getAttributeValue(i).split("\\s+");
+                            if (schemaLocations.length % 2 == 0) {
+                                for (int j = 0; j < schemaLocations.length; j += 2) {
+                                    URI schemaLocation = baseURI.resolve(schemaLocations[j + 1]
+                                            .replaceAll("\\\\", "/"));
+                                    schemaHandler.parseSchema(schemaLocations[j], schemaLocation.toString());
+                                }
+                            }
+                            break;
+                        case "noNamespaceSchemaLocation":
+                            schemaHandler.parseSchema(XMLConstants.NULL_NS_URI, reader.getAttributeValue(i));
+                            break;
+                    }
+                } catch (SchemaHandlerException e) {
+                    throw new XMLStreamException("Caused by: ", e);
+                }
+            }
+        }
+    }
+
+    private boolean matches(String cached, String value) {
+        return cached == value || cached.equals(value);
+    }
+
+    private String ensureNonNull(String value) {
+        return value != null ? value : XMLConstants.DEFAULT_NS_PREFIX;
+    }
 }
@@ -11,24 +11,58 @@ import javax.xml.XMLConstants;
 import java.util.*;
 
 public class NamespaceSupport {
-    private Context current = new Context();
-    private Map<String, String> prefixes;
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final Index prefixIndex = new Index();
+    private final Index namespaceIndex = new Index();
+    private String[] prefixes = new String[INITIAL_CAPACITY];
+    private String[] namespaceURIs = new String[INITIAL_CAPACITY];
+    private int[] previousPrefixes = new int[INITIAL_CAPACITY];
+    private int[] previousNamespaceURIs = new int[INITIAL_CAPACITY];
+    private int[] contexts = new int[INITIAL_CAPACITY];
+    private int size;
+    private int depth;
+
+    private Map<String, String> internalPrefixes;
     private boolean nextContext = true;
     private int prefixCounter = 1;
 
     public NamespaceSupport() {
-        current.prefixes.put(XMLConstants.XML_NS_URI, XMLConstants.XML_NS_PREFIX);
-        current.namespaceURIs.put(XMLConstants.XML_NS_PREFIX, XMLConstants.XML_NS_URI);
-        current.prefixes.put(XMLConstants.XMLNS_ATTRIBUTE_NS_URI, XMLConstants.XMLNS_ATTRIBUTE);
-        current.namespaceURIs.put(XMLConstants.XMLNS_ATTRIBUTE, XMLConstants.XMLNS_ATTRIBUTE_NS_URI);
-        current.prefixes.put(XMLConstants.NULL_NS_URI, XMLConstants.DEFAULT_NS_PREFIX);
+        declareDefaultPrefixes();
     }
 
     public void createInternalPrefixes(XMLObjects xmlObjects) {
-        prefixes = new HashMap<>();
+        internalPrefixes = new HashMap<>();
         xmlObjects.getSerializableNamespaces().stream()
                 .sorted()
-                .forEach(n -> prefixes.put(n, "ns" + prefixCounter++));
+                .forEach(n -> internalPrefixes.put(n, "ns" + prefixCounter++));
+    }
+
+    public void copyFrom(NamespaceSupport other) {
+        prefixIndex.copyFrom(other.prefixIndex);
+        namespaceIndex.copyFrom(other.namespaceIndex);
+        prefixes = other.prefixes.clone();
+        namespaceURIs = other.namespaceURIs.clone();
+        previousPrefixes = other.previousPrefixes.clone();
+        previousNamespaceURIs = other.previousNamespaceURIs.clone();
+        contexts = other.contexts.clone();
+        size = other.size;
+        depth = other.depth;
+        internalPrefixes = other.internalPrefixes;
+        nextContext = other.nextContext;
+        prefixCounter = other.prefixCounter;
+    }
+
+    public void reset() {
+        prefixIndex.clear();
+        namespaceIndex.clear();
+        Arrays.fill(prefixes, 0, size, null);
+        Arrays.fill(namespaceURIs, 0, size, null);
+        size = 0;
+        depth = 0;
+        nextContext = true;
+        prefixCounter = internalPrefixes != null ? internalPrefixes.size() + 1 : 1;
+        declareDefaultPrefixes();
     }
 
     public boolean requiresNextContext() {
@@ -41,16 +75,23 @@ public class NamespaceSupport {
 
     public void pushContext() {
         if (nextContext) {
-            current = new Context(current);
+            if (++depth == contexts.length) {
+                contexts = Arrays.copyOf(contexts, depth * 2);
+            }
+
+            contexts[depth] = size;
             nextContext = false;
         }
     }
 
     public void popContext() {
-        current = current.previous;
-        if (current == null) {
+        if (depth == 0) {
             throw new EmptyStackException();
         }
+
+        for (int start = contexts[depth--]; size > start; ) {
+            unbind(--size);
+        }
     }
 
     public void declarePrefix(String prefix, String namespaceURI) {
@@ -63,53 +104,59 @@ public class NamespaceSupport {
                 && !XMLConstants.NULL_NS_URI.equals(namespaceURI)) {
             // we only support one prefix per namespace URI and context
             // so, we first delete a previous mapping
-            current.prefixes.remove(current.namespaceURIs.get(prefix));
-            current.namespaceURIs.remove(current.prefixes.get(namespaceURI));
-            current.prefixes.put(namespaceURI, prefix);
-            current.namespaceURIs.put(prefix, namespaceURI);
-        }
-    }
+            int start = contexts[depth];
+            int index = prefixIndex.get(prefix);
+            if (index >= start) {
+                remove(index);
+            }
 
-    public String getPrefix(String namespaceURI) {
-        Context context = current;
-        String prefix = null;
+            index = namespaceIndex.get(namespaceURI);
+            if (index >= start) {
+                remove(index);
+            }
 
-        while (context != null && (prefix = context.prefixes.get(namespaceURI)) == null) {
-            context = context.previous;
+            bind(prefix, namespaceURI);
         }
+    }
 
-        return prefix;
+    public String getPrefix(String namespaceURI) {
+        int index = namespaceIndex.get(namespaceURI);
+        return index != -1 ? prefixes[index] : null;
     }
 
     public Set<String> getPrefixes(String namespaceURI) {
-        Context context = current;
         Set<String> prefixes = new LinkedHashSet<>();
-
-        while (context != null) {
-            String prefix = context.prefixes.get(namespaceURI);
-            if (prefix != null) {
-                prefixes.add(prefix);
-            }
-
-            context = context.previous;
+        for (int index = namespaceIndex.get(namespaceURI); index != -1; index = previousNamespaceURIs[index]) {
+            prefixes.add(this.prefixes[index]);
         }
 
         return prefixes;
     }
 
     public String getNamespaceURI(String prefix) {
-        Context context = current;
-        String namespaceURI = null;
+        int index = prefixIndex.get(prefix);
+        return index != -1 ? namespaceURIs[index] : null;
+    }
 
-        while (context != null && (namespaceURI = context.namespaceURIs.get(prefix)) == null) {
-            context = context.previous;
-        }
+    public int getNamespaceCount() {
+        return size - contexts[depth];
+    }
 
-        return namespaceURI;
+    public String getNamespacePrefix(int index) {
+        return prefixes[contexts[depth] + Objects.checkIndex(index, getNamespaceCount())];
+    }
+
+    public String getNamespaceURI(int index) {
+        return namespaceURIs[contexts[depth] + Objects.checkIndex(index, getNamespaceCount())];
     }
 
     public Map<String, String> getCurrentContext() {
-        return new HashMap<>(current.prefixes);
+        Map<String, String> context = new LinkedHashMap<>();
+        for (int i = contexts[depth]; i < size; i++) {
+            context.put(namespaceURIs[i], prefixes[i]);
+        }
+
+        return context;
     }
 
     public String createPrefixFromQName(String qName, String namespaceURI) {
@@ -131,7 +178,7 @@ public class NamespaceSupport {
     }
 
     public String createPrefix(String namespaceURI) {
-        String prefix = prefixes != null ? prefixes.get(namespaceURI) : null;
+        String prefix = internalPrefixes != null ? internalPrefixes.get(namespaceURI) : null;
         while (prefix == null || getNamespaceURI(prefix) != null) {
             prefix = "ns" + prefixCounter++;
         }
@@ -139,16 +186,163 @@ public class NamespaceSupport {
         return prefix;
     }
 
-    private static class Context {
-        private final Map<String, String> prefixes = new HashMap<>();
-        private final Map<String, String> namespaceURIs = new HashMap<>();
-        private Context previous;
+    private void declareDefaultPrefixes() {
+        bind(XMLConstants.XML_NS_PREFIX, XMLConstants.XML_NS_URI);
+        bind(XMLConstants.XMLNS_ATTRIBUTE, XMLConstants.XMLNS_ATTRIBUTE_NS_URI);
+        bind(XMLConstants.DEFAULT_NS_PREFIX, XMLConstants.NULL_NS_URI);
+    }
+
+    private void bind(String prefix, String namespaceURI) {
+        if (size == prefixes.length) {
+            int capacity = size * 2;
+            prefixes = Arrays.copyOf(prefixes, capacity);
+            namespaceURIs = Arrays.copyOf(namespaceURIs, capacity);
+            previousPrefixes = Arrays.copyOf(previousPrefixes, capacity);
+            previousNamespaceURIs = Arrays.copyOf(previousNamespaceURIs, capacity);
+        }
+
+        prefixes[size] = prefix;
+        namespaceURIs[size] = namespaceURI;
+        previousNamespaceURIs[size] = namespaceIndex.get(namespaceURI);
+        namespaceIndex.put(namespaceURI, size);
+
+        // the empty prefix is not bound to the null namespace
+        if (!namespaceURI.isEmpty()) {
+            previousPrefixes[size] = prefixIndex.get(prefix);
+            prefixIndex.put(prefix, size);
+        }
+
+        size++;
+    }
+
+    private void unbind(int index) {
+        namespaceIndex.put(namespaceURIs[index], previousNamespaceURIs[index]);
+        if (!namespaceURIs[index].isEmpty()) {
+            prefixIndex.put(prefixes[index], previousPrefixes[index]);
+        }
+
+        prefixes[index] = null;
+        namespaceURIs[index] = null;
+    }
+
+    private void remove(int index) {
+        // bindings of the current context are always the innermost ones, so the
+        // bindings declared after the removed one can simply be moved down
+        unbind(index);
+        int length = --size - index;
+        if (length > 0) {
+            System.arraycopy(prefixes, index + 1, prefixes, index, length);
+            System.arraycopy(namespaceURIs, index + 1, namespaceURIs, index, length);
+            System.arraycopy(previousPrefixes, index + 1, previousPrefixes, index, length);
+            System.arraycopy(previousNamespaceURIs, index + 1, previousNamespaceURIs, index, length);
+            prefixes[size] = null;
+            namespaceURIs[size] = null;
+
+            for (int i = index; i < size; i++) {
+                prefixIndex.put(prefixes[i], i);
+                namespaceIndex.put(namespaceURIs[i], i);
+            }
+        }
+    }
+
+    private static class Index {
+        private String[] keys = new String[INITIAL_CAPACITY];
+        private int[] values = new int[INITIAL_CAPACITY];
+        private int[] generations = new int[INITIAL_CAPACITY];
+        private int generation = 1;
+        private int size;
+
+        int get(String key) {
+            if (key != null) {
+                int mask = keys.length - 1;
+                int index = hash(key) & mask;
+                while (generations[index] == generation) {
+                    String candidate = keys[index];
+                    if (candidate == key || candidate.equals(key)) {
+                        return values[index];
+                    }
+
+                    index = (index + 1) & mask;
+                }
+            }
+
+            return -1;
+        }
+
+        void put(String key, int value) {
+            int mask = keys.length - 1;
+            int index = hash(key) & mask;
+            while (generations[index] == generation) {
+                String candidate = keys[index];
+                if (candidate == key || candidate.equals(key)) {
+                    values[index] = value;
+                    return;
+                }
+
+                index = (index + 1) & mask;
+            }
+
+            keys[index] = key;
+            values[index] = value;
+            generations[index] = generation;
+            if (++size * 2 > keys.length) {
+                rehash();
+            }
+        }
+
+        void copyFrom(Index other) {
+            keys = other.keys.clone();
+            values = other.values.clone();
+            generations = other.generations.clone();
+            generation = other.generation;
+            size = other.size;
+        }
+
+        void clear() {
+            // slots of previous generations are treated as empty
+            if (++generation == 0) {
+                Arrays.fill(generations, 0);
+                generation = 1;
+            }
+
+            size = 0;
+        }
 
-        Context() {
+        private void rehash() {
+            String[] keys = this.keys;
+            int[] values = this.values;
+            int[] generations = this.generations;
+            int current = generation;
+
+            // keys without an active binding are dropped
+            int count = 0;
+            for (int i = 0; i < keys.length; i++) {
+                if (generations[i] == current && values[i] != -1) {
+                    count++;
+                }
+            }
+
+            int capacity = INITIAL_CAPACITY;
+            while (capacity < count * 4) {
+                capacity <<= 1;
+            }
+
+            this.keys = new String[capacity];
+            this.values = new int[capacity];
+            this.generations = new int[capacity];
+            generation = 1;
+            size = 0;
+
+            for (int i = 0; i < keys.length; i++) {
+                if (generations[i] == current && values[i] != -1) {
+                    put(keys[i], values[i]);
+                }
+            }
         }
 
-        Context(Context previous) {
-            this.previous = previous;
+        private int hash(String key) {
+            int hash = key.hashCode();
+            return hash ^ (hash >>> 16);
         }
     }
 }
@@ -12,16 +12,26 @@ import org.xmlobjects.stream.XMLOutput;
 import javax.xml.XMLConstants;
 import javax.xml.transform.stream.StreamResult;
 import java.io.*;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
 import java.nio.charset.Charset;
 import java.nio.charset.CharsetEncoder;
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class SAXWriter extends XMLOutput<SAXWriter> {
+    private static final byte ESCAPE_TEXT = 1;
+    private static final byte ESCAPE_ATTRIBUTE = 2;
+    private static final byte UNENCODABLE = 4;
+    private static final byte[] UTF8_ESCAPES = createEscapeTable(null);
+    private static final Map<Charset, byte[]> ESCAPES = new ConcurrentHashMap<>();
+
     private Writer writer;
     private String encoding;
-    private CharsetEncoder encoder;
+    private byte[] escapes = UTF8_ESCAPES;
 
     private final Map<Integer, String> indentStrings = new HashMap<>();
     private boolean escapeCharacters = true;
@@ -29,6 +39,12 @@ public class SAXWriter extends XMLOutput<SAXWriter> {
     private int depth = 0;
     private XMLEvents lastEvent;
 
+    // pre-rendered output of an XMLWriterTemplate, which is discarded once the corresponding settings change
+    private String prolog;
+    private String rootDeclarations;
+    private String rootSchemaLocations;
+    private NamespaceSupport rootPrefixMapping;
+
     private enum XMLEvents {
         START_DOCUMENT,
         START_ELEMENT,
@@ -53,6 +69,14 @@ public class SAXWriter extends XMLOutput<SAXWriter> {
         setOutput(outputStream, encoding);
     }
 
+    public SAXWriter(WritableByteChannel channel) throws IOException {
+        this(channel, null);
+    }
+
+    public SAXWriter(WritableByteChannel channel, String encoding) throws IOException {
+        setOutput(channel, encoding);
+    }
+
     public SAXWriter(Writer writer) {
         setOutput(writer);
     }
@@ -92,8 +116,88 @@ public class SAXWriter extends XMLOutput<SAXWriter> {
             encoding = System.getProperty("file.encoding", "UTF-8");
         }
 
-        writer = new BufferedWriter(new OutputStreamWriter(outputStream, encoding));
         setEncoding(encoding);
+        if (isUTF8()) {
+            writer = writer instanceof UTF8Writer utf8Writer ? utf8Writer.reset(outputStream) : new UTF8Writer(outputStream);
+        } else {
+            writer = new BufferedWriter(new OutputStreamWriter(outputStream, encoding));
+        }
+    }
+
+    private void setOutput(WritableByteChannel channel, String encoding) throws IOException {
+        if (encoding == null) {
+            encoding = StandardCharsets.UTF_8.name();
+        }
+
+        setEncoding(encoding);
+        if (isUTF8()) {
+            writer = writer instanceof UTF8Writer utf8Writer ? utf8Writer.reset(channel) : new UTF8Writer(channel);
+        } else {
+            writer = new BufferedWriter(Channels.newWriter(channel, encoding));
+        }
+    }
+
+    protected void reset(OutputStream outputStream, String encoding) throws IOException {
+        reset();
+        setOutput(outputStream, encoding);
+    }
+
+    protected void reset(WritableByteChannel channel, String encoding) throws IOException {
+        reset();
+        setOutput(channel, encoding);
+    }
+
+    protected void reset(Writer writer) {
+        reset();
+        setOutput(writer);
+    }
+
+    @Override
+    protected void reset() {
+        super.reset();
+        encoding = null;
+        escapes = UTF8_ESCAPES;
+        indentStrings.clear();
+        escapeCharacters = true;
+        writeEncoding = false;
+        depth = 0;
+        lastEvent = null;
+        prolog = null;
+        rootDeclarations = null;
+        rootSchemaLocations = null;
+        rootPrefixMapping = null;
+    }
+
+    public SAXWriter withPrerenderedOutput(PrerenderedOutput output) {
+        prolog = output.prolog();
+        rootDeclarations = output.rootDeclarations();
+        rootSchemaLocations = output.rootSchemaLocations();
+        rootPrefixMapping = output.rootPrefixMapping();
+        return this;
+    }
+
+    @Override
+    public SAXWriter withSchemaLocation(String namespaceURI, String schemaLocation) {
+        rootDeclarations = null;
+        return super.withSchemaLocation(namespaceURI, schemaLocation);
+    }
+
+    @Override
+    public SAXWriter withIndent(String indent) {
+        prolog = null;
+        return super.withIndent(indent);
+    }
+
+    @Override
+    public SAXWriter writeXMLDeclaration(boolean writeXMLDeclaration) {
+        prolog = null;
+        return super.writeXMLDeclaration(writeXMLDeclaration);
+    }
+
+    @Override
+    public SAXWriter withHeaderComment(String... headerMessage) {
+        prolog = null;
+        return super.withHeaderComment(headerMessage);
     }
 
     @Override
@@ -125,9 +229,28 @@ public class SAXWriter extends XMLOutput<SAXWriter> {
         encoding = charset.name();
         writeEncoding = true;
 
-        if (!encoding.equalsIgnoreCase("UTF-8")) {
-            encoder = charset.newEncoder();
+        escapes = isUTF8() ? UTF8_ESCAPES : ESCAPES.computeIfAbsent(charset, SAXWriter::createEscapeTable);
+    }
+
+    private boolean isUTF8() {
+        return encoding.equalsIgnoreCase("UTF-8");
+    }
+
+    private static byte[] createEscapeTable(Charset charset) {
+        byte[] escapes = new byte[0x10000];
+        escapes['<'] = escapes['&'] = ESCAPE_TEXT | ESCAPE_ATTRIBUTE;
+        escapes['"'] = ESCAPE_ATTRIBUTE;
+
+        if (charset != null) {
+            CharsetEncoder encoder = charset.newEncoder();
+            for (int ch = 0; ch < escapes.length; ch++) {
+                if (!encoder.canEncode((char) ch)) {
+                    escapes[ch] |= UNENCODABLE;
+                }
+            }
         }
+
+        return escapes;
     }
 
     @Override
@@ -146,6 +269,27 @@ public class SAXWriter extends XMLOutput<SAXWriter> {
         }
     }
 
+    @Override
+    public void characters(CharSequence text, int start, int length) throws SAXException {
+        if (!(text instanceof String content)) {
+            super.characters(text, start, length);
+            return;
+        }
+
+        try {
+            if (length > 0) {
+                if (lastEvent == XMLEvents.START_ELEMENT) {
+                    writer.write('>');
+                }
+
+                writeTextContent(content, start, length, escapeCharacters);
+                lastEvent = XMLEvents.CHARACTERS;
+            }
+        } catch (IOException e) {
+            throw new SAXException("Caused by:", e);
+        }
+    }
+
     @Override
     public void endElement(String namespaceURI, String localName, String qName) throws SAXException {
         try {
@@ -216,7 +360,9 @@ public class SAXWriter extends XMLOutput<SAXWriter> {
     @Override
     public void startDocument() throws SAXException {
         try {
-            if (depth == 0 && lastEvent != XMLEvents.START_DOCUMENT) {
+            if (depth == 0 && lastEvent != XMLEvents.START_DOCUMENT && prolog != null) {
+                writer.write(prolog);
+            } else if (depth == 0 && lastEvent != XMLEvents.START_DOCUMENT) {
                 if (writeXMLDeclaration) {
                     if (encoding == null && writer instanceof OutputStreamWriter streamWriter) {
                         encoding = streamWriter.getEncoding();
@@ -273,9 +419,15 @@ public class SAXWriter extends XMLOutput<SAXWriter> {
             }
 
             writeAttributes(atts);
-            writeNamespaces(prefixMapping.getCurrentContext());
-            if (depth == 0) {
-                writeSchemaLocations();
+            if (depth == 0 && hasRootDeclarations()) {
+                writer.write(rootDeclarations);
+                writeNamespaces(rootPrefixMapping.getNamespaceCount());
+                writer.write(rootSchemaLocations);
+            } else {
+                writeNamespaces(0);
+                if (depth == 0) {
+                    writeSchemaLocations();
+                }
             }
 
             lastEvent = XMLEvents.START_ELEMENT;
@@ -325,7 +477,13 @@ public class SAXWriter extends XMLOutput<SAXWriter> {
                     }
 
                     writer.write(' ');
-                    writeQName(prefix, localName);
+                    String qName = atts.getQName(i);
+                    if (isQName(qName, prefix, localName)) {
+                        writer.write(qName);
+                    } else {
+                        writeQName(prefix, localName);
+                    }
+
                     writer.write("=\"");
                     writeAttributeContent(atts.getValue(i));
                     writer.write('"');
@@ -340,10 +498,25 @@ public class SAXWriter extends XMLOutput<SAXWriter> {
         }
     }
 
+    private boolean isQName(String qName, String prefix, String localName) {
+        // the qualified name of the attribute can be written as is if it uses the resolved prefix
+        if (qName == null) {
+            return false;
+        } else if (prefix == null || prefix.isEmpty()) {
+            return qName.equals(localName);
+        } else {
+            return qName.length() == prefix.length() + localName.length() + 1
+                    && qName.charAt(prefix.length()) == ':'
+                    && qName.startsWith(prefix)
+                    && qName.endsWith(localName);
+        }
+    }
+
     private void writeQName(String prefix, String localName) throws SAXException {
         try {
             if (prefix != null && !prefix.equals(XMLConstants.DEFAULT_NS_PREFIX)) {
-                writer.write(prefix + ":");
+                writer.write(prefix);
+                writer.write(':');
             }
 
             writer.write(localName);
@@ -352,21 +525,46 @@ public class SAXWriter extends XMLOutput<SAXWriter> {
         }
     }
 
-    private void writeNamespaces(Map<String, String> prefixes) throws SAXException {
-        try {
-            for (Map.Entry<String, String> entry : prefixes.entrySet()) {
-                String namespaceURI = entry.getKey();
-                String prefix = entry.getValue();
+    private boolean hasRootDeclarations() {
+        // the pre-rendered declarations can only be used if the root context still starts with the same bindings
+        if (rootDeclarations == null || prefixMapping.getNamespaceCount() < rootPrefixMapping.getNamespaceCount()) {
+            return false;
+        }
 
-                writer.write(" " + XMLConstants.XMLNS_ATTRIBUTE);
-                if (!prefix.isEmpty()) {
-                    writer.write(":" + prefix);
-                }
+        for (int i = 0; i < rootPrefixMapping.getNamespaceCount(); i++) {
+            if (prefixMapping.getNamespacePrefix(i) != rootPrefixMapping.getNamespacePrefix(i)
+                    || prefixMapping.getNamespaceURI(i) != rootPrefixMapping.getNamespaceURI(i)) {
+                return false;
+            }
+        }
 
-                writer.write("=\"");
-                writeAttributeContent(namespaceURI);
-                writer.write('"');
+        return true;
+    }
+
+    private void writeNamespaces(int start) throws SAXException {
+        for (int i = start; i < prefixMapping.getNamespaceCount(); i++) {
+            writeNamespace(prefixMapping.getNamespacePrefix(i), prefixMapping.getNamespaceURI(i));
+        }
+    }
+
+    private void writeNamespaces(Map<String, String> prefixes) throws SAXException {
+        for (Map.Entry<String, String> entry : prefixes.entrySet()) {
+            writeNamespace(entry.getValue(), entry.getKey());
+        }
+    }
+
+    private void writeNamespace(String prefix, String namespaceURI) throws SAXException {
+        try {
+            writer.write(' ');
+            writer.write(XMLConstants.XMLNS_ATTRIBUTE);
+            if (!prefix.isEmpty()) {
+                writer.write(':');
+                writer.write(prefix);
             }
+
+            writer.write("=\"");
+            writeAttributeContent(namespaceURI);
+            writer.write('"');
         } catch (IOException e) {
             throw new SAXException("Caused by:", e);
         }
@@ -440,72 +638,115 @@ public class SAXWriter extends XMLOutput<SAXWriter> {
     }
 
     private void writeTextContent(char[] content, int start, int length, boolean escapeCharacters) throws IOException {
+        if (!escapeCharacters && escapes == UTF8_ESCAPES) {
+            writer.write(content, start, length);
+            return;
+        }
+
+        int mask = escapeCharacters ? ESCAPE_TEXT | UNENCODABLE : UNENCODABLE;
         int pos = start;
         final int end = start + length;
 
-        for (int i = start; i < end; i++) {
-            char ch = content[i];
-
-            if (encoder != null && !encoder.canEncode(ch)) {
-                writer.write(content, pos, i - pos);
-                writer.write("&#x" + Integer.toHexString(ch) + ";");
-                pos = i + 1;
-            } else if (escapeCharacters) {
-                switch (ch) {
-                    case '<':
-                        writer.write(content, pos, i - pos);
-                        writer.write("&lt;");
-                        pos = i + 1;
-                        break;
-                    case '&':
-                        writer.write(content, pos, i - pos);
-                        writer.write("&amp;");
-                        pos = i + 1;
-                        break;
-                }
-            }
+        int i;
+        while ((i = indexOfEscape(content, pos, end, mask)) != -1) {
+            writer.write(content, pos, i - pos);
+            writeEscaped(content[i]);
+            pos = i + 1;
         }
 
         writer.write(content, pos, end - pos);
     }
 
+    private void writeTextContent(String content, int start, int length, boolean escapeCharacters) throws IOException {
+        if (!escapeCharacters && escapes == UTF8_ESCAPES) {
+            writer.write(content, start, length);
+            return;
+        }
+
+        writeContent(content, start, start + length, escapeCharacters ? ESCAPE_TEXT | UNENCODABLE : UNENCODABLE);
+    }
+
     private void writeAttributeContent(String content) throws IOException {
-        int pos = 0;
-        final int end = content.length();
+        writeContent(content, 0, content.length(), ESCAPE_ATTRIBUTE | UNENCODABLE);
+    }
 
-        for (int i = 0; i < end; i++) {
-            char ch = content.charAt(i);
+    private void writeContent(String content, int start, int end, int mask) throws IOException {
+        int pos = start;
+        int i;
+        while ((i = indexOfEscape(content, pos, end, mask)) != -1) {
+            writer.write(content, pos, i - pos);
+            writeEscaped(content.charAt(i));
+            pos = i + 1;
+        }
 
-            if (encoder != null && !encoder.canEncode(ch)) {
-                writer.write(content, pos, i - pos);
-                writer.write("&#x" + Integer.toHexString(ch) + ";");
-                pos = i + 1;
-            } else {
-                switch (ch) {
-                    case '<':
-                        writer.write(content, pos, i - pos);
-                        writer.write("&lt;");
-                        pos = i + 1;
-                        break;
-                    case '&':
-                        writer.write(content, pos, i - pos);
-                        writer.write("&amp;");
-                        pos = i + 1;
-                        break;
-                    case '"':
-                        writer.write(content, pos, i - pos);
-                        writer.write("&quot;");
-                        pos = i + 1;
-                        break;
-                }
+        writer.write(content, pos, end - pos);
+    }
+
+    private int indexOfEscape(char[] content, int start, int end, int mask) {
+        byte[] escapes = this.escapes;
+        int i = start;
+
+        // check blocks of four characters with a single branch
+        for (int limit = end - 3; i < limit; i += 4) {
+            if (((escapes[content[i]] | escapes[content[i + 1]]
+                    | escapes[content[i + 2]] | escapes[content[i + 3]]) & mask) != 0) {
+                break;
             }
         }
 
-        writer.write(content, pos, end - pos);
+        for (; i < end; i++) {
+            if ((escapes[content[i]] & mask) != 0) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    private int indexOfEscape(String content, int start, int end, int mask) {
+        byte[] escapes = this.escapes;
+        int i = start;
+
+        for (int limit = end - 3; i < limit; i += 4) {
+            if (((escapes[content.charAt(i)] | escapes[content.charAt(i + 1)]
+                    | escapes[content.charAt(i + 2)] | escapes[content.charAt(i + 3)]) & mask) != 0) {
+                break;
+            }
+        }
+
+        for (; i < end; i++) {
+            if ((escapes[content.charAt(i)] & mask) != 0) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    private void writeEscaped(char ch) throws IOException {
+        if ((escapes[ch] & UNENCODABLE) != 0) {
+            writer.write("&#x" + Integer.toHexString(ch) + ";");
+        } else {
+            switch (ch) {
+                case '<':
+                    writer.write("&lt;");
+                    break;
+                case '&':
+                    writer.write("&amp;");
+                    break;
+                case '"':
+                    writer.write("&quot;");
+                    break;
+            }
+        }
     }
 
     @Override
     protected SAXWriter self() {
         return this;
     }
+
+    public record PrerenderedOutput(String prolog, String rootDeclarations, String rootSchemaLocations,
+                                    NamespaceSupport rootPrefixMapping) {
+    }
 }
@@ -0,0 +1,209 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright Claus Nagel <claus.nagel@gmail.com>
+ */
+
+package org.xmlobjects.util.xml;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+final class UTF8Writer extends Writer {
+    private static final int DEFAULT_BUFFER_SIZE = 65536;
+    private static final int CHUNK_SIZE = 4096;
+    private static final int SMALL_STRING_SIZE = 64;
+
+    private OutputStream stream;
+    private WritableByteChannel channel;
+    private final byte[] buffer = new byte[DEFAULT_BUFFER_SIZE];
+    private final ByteBuffer byteBuffer = ByteBuffer.wrap(buffer);
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+
+    private char[] chunk;
+    private char leftoverChar;
+    private boolean closed;
+
+    UTF8Writer(OutputStream stream) {
+        this.stream = Objects.requireNonNull(stream, "The output stream must not be null.");
+        channel = null;
+    }
+
+    UTF8Writer(WritableByteChannel channel) {
+        this.channel = Objects.requireNonNull(channel, "The channel must not be null.");
+        stream = null;
+    }
+
+    UTF8Writer reset(OutputStream stream) {
+        this.stream = Objects.requireNonNull(stream, "The output stream must not be null.");
+        channel = null;
+        return reset();
+    }
+
+    UTF8Writer reset(WritableByteChannel channel) {
+        this.channel = Objects.requireNonNull(channel, "The channel must not be null.");
+        stream = null;
+        return reset();
+    }
+
+    private UTF8Writer reset() {
+        // the byte buffer and the encoder are reused for the new output
+        byteBuffer.clear();
+        encoder.reset();
+        leftoverChar = 0;
+        closed = false;
+        return this;
+    }
+
+    @Override
+    public void write(int c) throws IOException {
+        ensureOpen();
+        if (leftoverChar == 0 && c < 0x80 && byteBuffer.hasRemaining()) {
+            byteBuffer.put((byte) c);
+        } else {
+            encode(new char[]{(char) c}, 0, 1);
+        }
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) throws IOException {
+        ensureOpen();
+        Objects.checkFromIndexSize(off, len, cbuf.length);
+        encode(cbuf, off, len);
+    }
+
+    @Override
+    public void write(String str, int off, int len) throws IOException {
+        ensureOpen();
+        Objects.checkFromIndexSize(off, len, str.length());
+
+        // names and short values are copied directly if they only contain ASCII characters
+        if (len <= SMALL_STRING_SIZE && leftoverChar == 0 && byteBuffer.remaining() >= len) {
+            int position = byteBuffer.position();
+            int end = off + len;
+            while (off < end) {
+                char ch = str.charAt(off);
+                if (ch >= 0x80) {
+                    break;
+                }
+
+                buffer[position++] = (byte) ch;
+                off++;
+            }
+
+            byteBuffer.position(position);
+            len = end - off;
+        }
+
+        if (len > 0) {
+            if (chunk == null) {
+                chunk = new char[CHUNK_SIZE];
+            }
+
+            while (len > 0) {
+                int length = Math.min(len, CHUNK_SIZE);
+                str.getChars(off, off + length, chunk, 0);
+                encode(chunk, 0, length);
+                off += length;
+                len -= length;
+            }
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        ensureOpen();
+        flushBuffer();
+        if (stream != null) {
+            stream.flush();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!closed) {
+            try {
+                CharBuffer input = leftoverChar != 0 ?
+                        CharBuffer.wrap(new char[]{leftoverChar}) :
+                        CharBuffer.allocate(0);
+
+                leftoverChar = 0;
+                encode(input, true);
+                while (encoder.flush(byteBuffer).isOverflow()) {
+                    flushBuffer();
+                }
+
+                flushBuffer();
+            } finally {
+                closed = true;
+                if (stream != null) {
+                    stream.close();
+                } else {
+                    channel.close();
+                }
+            }
+        }
+    }
+
+    private void encode(char[] cbuf, int off, int len) throws IOException {
+        if (len == 0) {
+            return;
+        }
+
+        if (leftoverChar != 0) {
+            // complete a surrogate pair split across two write calls
+            CharBuffer input = CharBuffer.wrap(new char[]{leftoverChar, cbuf[off]});
+            leftoverChar = 0;
+            encode(input, false);
+            if (!input.hasRemaining()) {
+                off++;
+                len--;
+            }
+        }
+
+        CharBuffer input = CharBuffer.wrap(cbuf, off, len);
+        encode(input, false);
+        if (input.hasRemaining()) {
+            leftoverChar = input.get();
+        }
+    }
+
+    private void encode(CharBuffer input, boolean endOfInput) throws IOException {
+        // the JDK encoder copies ASCII characters using vectorized intrinsics
+        while (encoder.encode(input, byteBuffer, endOfInput) == CoderResult.OVERFLOW) {
+            flushBuffer();
+        }
+    }
+
+    private void flushBuffer() throws IOException {
+        int count = byteBuffer.position();
+        if (count > 0) {
+            if (stream != null) {
+                stream.write(buffer, 0, count);
+            } else {
+                byteBuffer.flip();
+                while (byteBuffer.hasRemaining()) {
+                    channel.write(byteBuffer);
+                }
+            }
+
+            byteBuffer.clear();
+        }
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("The writer has been closed.");
+        }
+    }
+}
@@ -7,6 +7,7 @@ package org.xmlobjects.xml;
 
 import javax.xml.XMLConstants;
 import javax.xml.namespace.QName;
+import javax.xml.stream.XMLStreamReader;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
@@ -29,12 +30,27 @@ public class Attributes {
         }
     };
 
-    private final Map<String, Map<String, TextContent>> attributes;
+    private Map<String, Map<String, TextContent>> attributes;
+    private String[] names;
+    private TextContent[] values;
+    private int size;
 
     public static Attributes empty() {
         return EMPTY;
     }
 
+    public static Attributes of(XMLStreamReader reader) {
+        int size = reader.getAttributeCount();
+        String[] names = new String[size * 3];
+        for (int i = 0, j = 0; i < size; i++) {
+            names[j++] = ensureNonNull(reader.getAttributeNamespace(i));
+            names[j++] = reader.getAttributeLocalName(i);
+            names[j++] = reader.getAttributeValue(i);
+        }
+
+        return new Attributes(names, size);
+    }
+
     public Attributes() {
         this(new HashMap<>());
     }
@@ -43,8 +59,14 @@ public class Attributes {
         this.attributes = attributes;
     }
 
+    private Attributes(String[] names, int size) {
+        this.names = names;
+        this.size = size;
+        values = new TextContent[size];
+    }
+
     public void add(String namespaceURI, String localName, TextContent value) {
-        attributes.computeIfAbsent(ensureNonNull(namespaceURI), v -> new HashMap<>()).put(localName, value);
+        getAttributes().computeIfAbsent(ensureNonNull(namespaceURI), v -> new HashMap<>()).put(localName, value);
     }
 
     public void add(String namespaceURI, String localName, String value) {
@@ -68,7 +90,7 @@ public class Attributes {
     }
 
     public void addAll(String namespaceURI, Map<String, TextContent> attributes) {
-        this.attributes.computeIfAbsent(ensureNonNull(namespaceURI), v -> new HashMap<>()).putAll(attributes);
+        getAttributes().computeIfAbsent(ensureNonNull(namespaceURI), v -> new HashMap<>()).putAll(attributes);
     }
 
     public boolean contains(String localName) {
@@ -80,15 +102,17 @@ public class Attributes {
     }
 
     public boolean contains(String namespaceURI, String localName) {
-        return get(ensureNonNull(namespaceURI)).containsKey(localName);
+        return attributes == null ?
+                indexOf(namespaceURI, localName) != -1 :
+                get(ensureNonNull(namespaceURI)).containsKey(localName);
     }
 
     public Map<String, Map<String, TextContent>> get() {
-        return attributes;
+        return getAttributes();
     }
 
     public Map<String, TextContent> get(String namespaceURI) {
-        return attributes.getOrDefault(ensureNonNull(namespaceURI), Collections.emptyMap());
+        return getAttributes().getOrDefault(ensureNonNull(namespaceURI), Collections.emptyMap());
     }
 
     public TextContent getValue(String localName) {
@@ -96,7 +120,12 @@ public class Attributes {
     }
 
     public TextContent getValue(String namespaceURI, String localName) {
-        return get(namespaceURI).getOrDefault(localName, TextContent.absent());
+        if (attributes == null) {
+            int index = indexOf(namespaceURI, localName);
+            return index != -1 ? getValue(index) : TextContent.absent();
+        } else {
+            return get(namespaceURI).getOrDefault(localName, TextContent.absent());
+        }
     }
 
     public TextContent getValue(QName name) {
@@ -104,14 +133,48 @@ public class Attributes {
     }
 
     public boolean isEmpty() {
-        return attributes.isEmpty();
+        return attributes == null ? size == 0 : attributes.isEmpty();
     }
 
     public boolean isImmutable() {
         return false;
     }
 
-    private String ensureNonNull(String namespaceURI) {
+    private Map<String, Map<String, TextContent>> getAttributes() {
+        if (attributes == null) {
+            attributes = new HashMap<>();
+            for (int i = 0; i < size; i++) {
+                attributes.computeIfAbsent(names[i * 3], v -> new HashMap<>()).put(names[i * 3 + 1], getValue(i));
+            }
+
+            names = null;
+            values = null;
+        }
+
+        return attributes;
+    }
+
+    private int indexOf(String namespaceURI, String localName) {
+        namespaceURI = ensureNonNull(namespaceURI);
+        for (int i = 0; i < size; i++) {
+            if (names[i * 3 + 1].equals(localName) && names[i * 3].equals(namespaceURI)) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    private TextContent getValue(int index) {
+        TextContent value = values[index];
+        if (value == null) {
+            value = values[index] = TextContent.of(names[index * 3 + 2]);
+        }
+
+        return value;
+    }
+
+    private static String ensureNonNull(String namespaceURI) {
         return namespaceURI != null ? namespaceURI : XMLConstants.NULL_NS_URI;
     }
 }
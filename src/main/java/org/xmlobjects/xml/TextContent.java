@@ -37,6 +37,10 @@ public class TextContent {
         return ofObject(content);
     }
 
+    public static TextContent of(char[] content, int start, int length) {
+        return content != null ? new TextContent(new String(content, start, length)) : ABSENT;
+    }
+
     public static TextContent ofList(List<String> content) {
         return ofObjectList(content);
     }
@@ -0,0 +1,87 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright Claus Nagel <claus.nagel@gmail.com>
+ */
+
+package org.xmlobjects.stream;
+
+import org.junit.jupiter.api.Test;
+import org.xmlobjects.XMLObjects;
+import org.xmlobjects.builder.ObjectBuildException;
+import org.xmlobjects.builder.ObjectBuilder;
+import org.xmlobjects.xml.Attributes;
+
+import javax.xml.namespace.QName;
+import java.io.StringReader;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ObjectStreamTest {
+    private static final String NAMESPACE_URI = "urn:test";
+    private static final int GROUPS = 50;
+    private static final int MEMBERS = 20;
+
+    @Test
+    public void parallelStreamResolvesRedeclaredPrefixes() throws Exception {
+        XMLObjects xmlObjects = XMLObjects.newInstance();
+        xmlObjects.registerBuilder(new MemberBuilder(), NAMESPACE_URI, "member");
+
+        List<QName> types;
+        try (XMLReader reader = XMLReaderFactory.newInstance(xmlObjects).createReader(new StringReader(createDocument()))) {
+            reader.nextTag();
+            reader.nextTag();
+            types = reader.stream(Member.class).parallel()
+                    .map(member -> member.type)
+                    .collect(Collectors.toList());
+            assertEquals(new QName(NAMESPACE_URI, "groups"), reader.getName());
+            assertEquals(EventType.START_ELEMENT, reader.nextTag());
+            assertEquals(new QName(NAMESPACE_URI, "trailer"), reader.getName());
+        }
+
+        assertEquals(GROUPS * MEMBERS, types.size());
+        for (int i = 0; i < GROUPS; i++) {
+            for (int j = 0; j < MEMBERS; j++) {
+                assertEquals(new QName("urn:group:" + i, "type" + j), types.get(i * MEMBERS + j));
+            }
+        }
+    }
+
+    private String createDocument() {
+        StringBuilder document = new StringBuilder("<root xmlns=\"" + NAMESPACE_URI + "\" xmlns:p=\"urn:root\"><groups>");
+        for (int i = 0; i < GROUPS; i++) {
+            // every group binds the same prefix to a different namespace
+            document.append("<group xmlns:p=\"urn:group:").append(i).append("\">");
+            for (int j = 0; j < MEMBERS; j++) {
+                document.append("<member><type>p:type").append(j).append("</type></member>");
+            }
+
+            document.append("</group>");
+        }
+
+        return document.append("</groups><trailer/></root>").toString();
+    }
+
+    private static class Member {
+        QName type;
+    }
+
+    public static class MemberBuilder implements ObjectBuilder<Member> {
+
+        @Override
+        public Member createObject(QName name, Object parent) {
+            return new Member();
+        }
+
+        @Override
+        public void buildChildObject(Member object, QName name, Attributes attributes, XMLReader reader) throws ObjectBuildException, XMLReadException {
+            if (name.getLocalPart().equals("type")) {
+                String value = reader.getTextContent().get();
+                String prefix = value.substring(0, value.indexOf(':'));
+                object.type = new QName(reader.getStreamReader().getNamespaceURI(prefix),
+                        value.substring(prefix.length() + 1));
+            }
+        }
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright Claus Nagel <claus.nagel@gmail.com>
+ */
+
+package org.xmlobjects.stream;
+
+import org.junit.jupiter.api.Test;
+import org.xmlobjects.XMLObjects;
+import org.xmlobjects.builder.ObjectBuildException;
+import org.xmlobjects.builder.ObjectBuilder;
+import org.xmlobjects.schema.SchemaHandler;
+import org.xmlobjects.xml.Attributes;
+
+import javax.xml.namespace.QName;
+import java.io.StringReader;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReadChildObjectsTest {
+    private static final String NAMESPACE_URI = "urn:test";
+    private static final String EXTENSION_NAMESPACE_URI = "urn:test:ext";
+    private static final int MEMBERS = 200;
+
+    @Test
+    public void readMembersInParallel() throws Exception {
+        XMLObjects xmlObjects = XMLObjects.newInstance();
+        xmlObjects.registerBuilder(new MemberBuilder(), NAMESPACE_URI, "member");
+
+        RecordingSchemaHandler schemaHandler = new RecordingSchemaHandler();
+        XMLReaderFactory factory = XMLReaderFactory.newInstance(xmlObjects).withSchemaHandler(schemaHandler);
+
+        List<Member> members = new ArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try (XMLReader reader = factory.createReader(new StringReader(createDocument()))) {
+            reader.nextTag();
+            reader.nextTag();
+            reader.readChildObjects(Member.class, executor, members::add);
+            assertEquals(new QName(NAMESPACE_URI, "members"), reader.getName());
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(MEMBERS, members.size());
+        for (int i = 0; i < MEMBERS; i++) {
+            Member member = members.get(i);
+            assertEquals(String.valueOf(i), member.id);
+            assertEquals("de", member.lang);
+            assertEquals(new QName(EXTENSION_NAMESPACE_URI, "type" + i), member.type);
+            assertFalse(member.hasSchemaHandler);
+        }
+
+        // schema locations are only resolved by the thread that splits the content
+        assertEquals(MEMBERS + 1, schemaHandler.namespaceURIs.size());
+        assertEquals(Set.of(Thread.currentThread()), schemaHandler.threads);
+        for (int i = 0; i < MEMBERS; i++) {
+            assertTrue(schemaHandler.namespaceURIs.contains("urn:schema:" + i));
+        }
+    }
+
+    private String createDocument() {
+        StringBuilder document = new StringBuilder("<root xmlns=\"" + NAMESPACE_URI + "\"" +
+                " xmlns:x=\"" + EXTENSION_NAMESPACE_URI + "\"" +
+                " xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\"><members>");
+        for (int i = 0; i < MEMBERS; i++) {
+            document.append("<member id=\"").append(i).append("\" x:lang=\"de\"")
+                    .append(" xsi:schemaLocation=\"urn:schema:").append(i).append(" member").append(i).append(".xsd\">")
+                    .append("<type>x:type").append(i).append("</type>")
+                    .append("<nested xsi:schemaLocation=\"urn:schema:nested nested.xsd\"/>")
+                    .append("</member>");
+        }
+
+        return document.append("</members></root>").toString();
+    }
+
+    private static class Member {
+        String id;
+        String lang;
+        QName type;
+        boolean hasSchemaHandler;
+    }
+
+    public static class MemberBuilder implements ObjectBuilder<Member> {
+
+        @Override
+        public Member createObject(QName name, Object parent) {
+            return new Member();
+        }
+
+        @Override
+        public void initializeObject(Member object, QName name, Attributes attributes, XMLReader reader) {
+            object.id = attributes.getValue("id").get();
+            object.lang = attributes.getValue(EXTENSION_NAMESPACE_URI, "lang").get();
+            object.hasSchemaHandler = reader.getSchemaHandler() != null;
+        }
+
+        @Override
+        public void buildChildObject(Member object, QName name, Attributes attributes, XMLReader reader) throws ObjectBuildException, XMLReadException {
+            if (name.getLocalPart().equals("type")) {
+                String value = reader.getTextContent().get();
+                String prefix = value.substring(0, value.indexOf(':'));
+                object.type = new QName(reader.getStreamReader().getNamespaceURI(prefix),
+                        value.substring(prefix.length() + 1));
+            }
+        }
+    }
+
+    private static class RecordingSchemaHandler extends SchemaHandler {
+        final Set<String> namespaceURIs = Collections.synchronizedSet(new HashSet<>());
+        final Set<Thread> threads = Collections.synchronizedSet(new HashSet<>());
+
+        @Override
+        public void parseSchema(String namespaceURI, String schemaLocation) {
+            namespaceURIs.add(namespaceURI);
+            threads.add(Thread.currentThread());
+        }
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright Claus Nagel <claus.nagel@gmail.com>
+ */
+
+package org.xmlobjects.stream;
+
+import org.junit.jupiter.api.Test;
+import org.xmlobjects.XMLObjects;
+import org.xmlobjects.builder.ObjectBuilder;
+import org.xmlobjects.schema.SchemaHandler;
+import org.xmlobjects.xml.Attributes;
+
+import javax.xml.namespace.QName;
+import java.io.StringReader;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReaderPipelineTest {
+    private static final String NAMESPACE_URI = "urn:test";
+    private static final int MEMBERS = 500;
+
+    @Test
+    public void resolveSchemaLocationsInParserStage() throws Exception {
+        XMLObjects xmlObjects = XMLObjects.newInstance();
+        xmlObjects.registerBuilder(new MemberBuilder(), NAMESPACE_URI, "member");
+
+        RecordingSchemaHandler schemaHandler = new RecordingSchemaHandler();
+        XMLReaderFactory factory = XMLReaderFactory.newInstance(xmlObjects)
+                .withSchemaHandler(schemaHandler)
+                .withProperty("key", "value");
+
+        List<Member> members = new ArrayList<>();
+        try (XMLReader reader = factory.createReader(new StringReader(createDocument()))) {
+            reader.nextTag();
+            factory.createPipeline(Member.class)
+                    .withBatchSize(7)
+                    .process(reader, members::add);
+        }
+
+        assertEquals(MEMBERS, members.size());
+        for (int i = 0; i < MEMBERS; i++) {
+            assertEquals(String.valueOf(i), members.get(i).id);
+            assertEquals("value", members.get(i).property);
+            assertFalse(members.get(i).hasSchemaHandler);
+        }
+
+        // all schema locations are resolved by the parser stage
+        assertEquals(MEMBERS, schemaHandler.namespaceURIs.size());
+        assertEquals(1, schemaHandler.threads.size());
+        assertFalse(schemaHandler.threads.contains(Thread.currentThread()));
+    }
+
+    private String createDocument() {
+        StringBuilder document = new StringBuilder("<root xmlns=\"" + NAMESPACE_URI + "\"" +
+                " xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\">");
+        for (int i = 0; i < MEMBERS; i++) {
+            document.append("<member id=\"").append(i).append("\">")
+                    .append("<child xsi:schemaLocation=\"urn:schema:").append(i).append(" child.xsd\"/>")
+                    .append("</member>");
+        }
+
+        return document.append("</root>").toString();
+    }
+
+    private static class Member {
+        String id;
+        Object property;
+        boolean hasSchemaHandler;
+    }
+
+    public static class MemberBuilder implements ObjectBuilder<Member> {
+
+        @Override
+        public Member createObject(QName name, Object parent) {
+            return new Member();
+        }
+
+        @Override
+        public void initializeObject(Member object, QName name, Attributes attributes, XMLReader reader) {
+            object.id = attributes.getValue("id").get();
+            object.property = reader.getProperties().get("key");
+            object.hasSchemaHandler = reader.getSchemaHandler() != null;
+        }
+    }
+
+    private static class RecordingSchemaHandler extends SchemaHandler {
+        final Set<String> namespaceURIs = Collections.synchronizedSet(new HashSet<>());
+        final Set<Thread> threads = Collections.synchronizedSet(new HashSet<>());
+
+        @Override
+        public void parseSchema(String namespaceURI, String schemaLocation) {
+            namespaceURIs.add(namespaceURI);
+            threads.add(Thread.currentThread());
+        }
+    }
+}
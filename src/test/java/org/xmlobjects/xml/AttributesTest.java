@@ -0,0 +1,93 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright Claus Nagel <claus.nagel@gmail.com>
+ */
+
+package org.xmlobjects.xml;
+
+import org.junit.jupiter.api.Test;
+
+import javax.xml.XMLConstants;
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.StringReader;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AttributesTest {
+    private static final String NAMESPACE_URI = "urn:test";
+
+    @Test
+    public void readFromFlatStorage() throws XMLStreamException {
+        Attributes attributes = createAttributes();
+
+        assertFalse(attributes.isEmpty());
+        assertAttributes(attributes);
+        assertSame(attributes.getValue("id"), attributes.getValue("id"));
+    }
+
+    @Test
+    public void addSwitchesToMap() throws XMLStreamException {
+        Attributes attributes = createAttributes();
+        TextContent id = attributes.getValue("id");
+
+        attributes.add(NAMESPACE_URI, "added", "3");
+
+        assertAttributes(attributes);
+        assertSame(id, attributes.getValue("id"));
+        assertTrue(attributes.contains(new QName(NAMESPACE_URI, "added")));
+        assertEquals("3", attributes.getValue(NAMESPACE_URI, "added").get());
+    }
+
+    @Test
+    public void getSwitchesToMap() throws XMLStreamException {
+        Attributes attributes = createAttributes();
+
+        Map<String, Map<String, TextContent>> values = attributes.get();
+        assertEquals(2, values.size());
+        assertEquals("1", values.get(XMLConstants.NULL_NS_URI).get("id").get());
+        assertEquals("de", values.get(NAMESPACE_URI).get("lang").get());
+
+        assertAttributes(attributes);
+        assertSame(values, attributes.get());
+    }
+
+    @Test
+    public void emptyFlatStorage() throws XMLStreamException {
+        XMLStreamReader reader = createReader("<root/>");
+        Attributes attributes = Attributes.of(reader);
+
+        assertTrue(attributes.isEmpty());
+        assertFalse(attributes.contains("id"));
+        assertFalse(attributes.getValue("id").isPresent());
+        assertTrue(attributes.get().isEmpty());
+        assertTrue(attributes.isEmpty());
+    }
+
+    private void assertAttributes(Attributes attributes) {
+        assertTrue(attributes.contains("id"));
+        assertTrue(attributes.contains(null, "id"));
+        assertTrue(attributes.contains(NAMESPACE_URI, "lang"));
+        assertFalse(attributes.contains("lang"));
+        assertFalse(attributes.contains(NAMESPACE_URI, "id"));
+
+        assertEquals("1", attributes.getValue("id").get());
+        assertEquals("1", attributes.getValue(null, "id").get());
+        assertEquals("de", attributes.getValue(new QName(NAMESPACE_URI, "lang")).get());
+        assertFalse(attributes.getValue("lang").isPresent());
+        assertFalse(attributes.getValue(NAMESPACE_URI, "missing").isPresent());
+    }
+
+    private Attributes createAttributes() throws XMLStreamException {
+        return Attributes.of(createReader("<root id=\"1\" x:lang=\"de\" xmlns:x=\"" + NAMESPACE_URI + "\"/>"));
+    }
+
+    private XMLStreamReader createReader(String document) throws XMLStreamException {
+        XMLStreamReader reader = XMLInputFactory.newFactory().createXMLStreamReader(new StringReader(document));
+        reader.nextTag();
+        return reader;
+    }
+}